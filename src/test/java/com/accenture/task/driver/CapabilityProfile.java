@@ -0,0 +1,57 @@
+package com.accenture.task.driver;
+
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Named sets of Chrome arguments used by {@link DriverFactory}. The default, {@code container}, is what the suite
+ * needs on CI agents running in containers; {@code standard} drops the sandbox workarounds for desktops.
+ * Selected with {@code -Ddriver.profile}.
+ */
+public enum CapabilityProfile {
+
+    STANDARD("standard", List.of("--disable-gpu", "--window-size=1920,1080", "--ignore-certificate-errors", "--disable-extensions", "--remote-allow-origins=*")),
+    CONTAINER("container", concat(STANDARD.arguments, "--no-sandbox", "--disable-dev-shm-usage"));
+
+    private final String profileName;
+    private final List<String> arguments;
+
+    CapabilityProfile(String profileName, List<String> arguments) {
+        this.profileName = profileName;
+        this.arguments = arguments;
+    }
+
+    /**
+     * @return The profile configured with {@code -Ddriver.profile}, {@link #CONTAINER} if unset.
+     */
+    public static CapabilityProfile current() {
+        String configured = System.getProperty("driver.profile", CONTAINER.profileName);
+        for (CapabilityProfile profile : values()) {
+            if (profile.profileName.equalsIgnoreCase(configured) || profile.name().equalsIgnoreCase(configured)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown driver profile '" + configured + "', expected one of standard, container");
+    }
+
+    public String profileName() {
+        return profileName;
+    }
+
+    /**
+     * @return New options with this profile's arguments.
+     */
+    public ChromeOptions toOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments(arguments);
+        return options;
+    }
+
+    private static List<String> concat(List<String> base, String... extra) {
+        List<String> all = new ArrayList<>(base);
+        all.addAll(List.of(extra));
+        return List.copyOf(all);
+    }
+}
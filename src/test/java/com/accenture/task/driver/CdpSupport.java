@@ -0,0 +1,24 @@
+package com.accenture.task.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Optional;
+
+/**
+ * Access to raw Chrome DevTools Protocol commands of a possibly decorated driver.
+ */
+final class CdpSupport {
+
+    private CdpSupport() {
+    }
+
+    /**
+     * @return The driver's CDP command channel, or empty if the underlying driver is not Chromium based.
+     */
+    static Optional<HasCdp> of(WebDriver driver) {
+        WebDriver target = driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+        return target instanceof HasCdp ? Optional.of((HasCdp) target) : Optional.empty();
+    }
+}
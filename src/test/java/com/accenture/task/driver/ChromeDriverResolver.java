@@ -0,0 +1,228 @@
+package com.accenture.task.driver;
+
+import com.accenture.task.utils.TestUtils;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the chromedriver matching the locally installed Chrome without network access. The detected Chrome
+ * version is cached per browser binary (and its modification time), and chromedriver binaries are pinned per
+ * Chrome major version under {@code magento.e2e.cacheDir/driver}. Only when no pinned driver exists is
+ * WebDriverManager asked once for that version and its binary copied into the cache; with
+ * {@code -Ddriver.offline=true} that fallback is disabled and a missing driver fails fast.
+ * {@code -Dwebdriver.chrome.driver} still takes precedence over everything.
+ */
+public final class ChromeDriverResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChromeDriverResolver.class);
+    private static final Pattern VERSION = Pattern.compile("(\\d+)\\.\\d+\\.\\d+\\.\\d+");
+    private static final boolean WINDOWS = System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("win");
+
+    private final Path cacheDir;
+    private final boolean offline;
+
+    public ChromeDriverResolver(Path cacheDir, boolean offline) {
+        this.cacheDir = cacheDir;
+        this.offline = offline;
+    }
+
+    /**
+     * @return A resolver using the local cache directory and {@code -Ddriver.offline}.
+     */
+    public static ChromeDriverResolver fromSystemProperties() {
+        return new ChromeDriverResolver(TestUtils.localCachePath("driver"), Boolean.getBoolean("driver.offline"));
+    }
+
+    /**
+     * @return Path of a chromedriver executable for the installed Chrome.
+     * @throws IllegalStateException if no driver can be found offline.
+     */
+    public String resolve() {
+        long start = System.nanoTime();
+        String source;
+        String path;
+        String pinned = System.getProperty("webdriver.chrome.driver", "");
+        if (!pinned.isBlank()) {
+            source = "webdriver.chrome.driver";
+            path = pinned;
+        } else {
+            Optional<String> chromeVersion = detectChromeVersion();
+            String major = chromeVersion.map(ChromeDriverResolver::majorOf).orElse(null);
+            Path cached = major != null ? cachedDriver(major) : null;
+            if (cached != null && Files.isExecutable(cached)) {
+                source = "local cache (Chrome " + chromeVersion.get() + ")";
+                path = cached.toString();
+            } else if (offline) {
+                throw new IllegalStateException("No cached chromedriver for Chrome " + chromeVersion.orElse("(not detected)") + " in " + cacheDir.resolve("chromedriver")
+                        + " and driver.offline is set. Run once online or copy a chromedriver to that directory.");
+            } else {
+                source = "WebDriverManager";
+                path = downloadAndPin(major, cached);
+            }
+        }
+        logger.info("Resolved chromedriver {} from {} in {} ms.", path, source, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return path;
+    }
+
+    /**
+     * Detects the installed Chrome version, reusing the cached result while the browser binary is unchanged.
+     */
+    Optional<String> detectChromeVersion() {
+        Optional<Path> binary = findChromeBinary();
+        if (binary.isEmpty()) {
+            logger.warn("No Chrome installation found.");
+            return Optional.empty();
+        }
+        Path versionFile = cacheDir.resolve("chrome-version.properties");
+        Properties cache = new Properties();
+        try {
+            String lastModified = String.valueOf(Files.getLastModifiedTime(binary.get()).toMillis());
+            if (Files.exists(versionFile)) {
+                try (InputStream in = Files.newInputStream(versionFile)) {
+                    cache.load(in);
+                }
+                if (binary.get().toString().equals(cache.getProperty("binary")) && lastModified.equals(cache.getProperty("lastModified"))) {
+                    return Optional.ofNullable(cache.getProperty("version"));
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Could not read the cached Chrome version.", e);
+        }
+        Optional<String> version = queryVersion(binary.get());
+        version.ifPresent(v -> {
+            cache.setProperty("binary", binary.get().toString());
+            cache.setProperty("version", v);
+            try {
+                cache.setProperty("lastModified", String.valueOf(Files.getLastModifiedTime(binary.get()).toMillis()));
+                Files.createDirectories(cacheDir);
+                try (OutputStream out = Files.newOutputStream(versionFile)) {
+                    cache.store(out, "Detected Chrome version");
+                }
+            } catch (IOException e) {
+                logger.debug("Could not cache the Chrome version.", e);
+            }
+        });
+        return version;
+    }
+
+    private Path cachedDriver(String major) {
+        return cacheDir.resolve("chromedriver").resolve(major).resolve(WINDOWS ? "chromedriver.exe" : "chromedriver");
+    }
+
+    private String downloadAndPin(String major, Path target) {
+        WebDriverManager manager = WebDriverManager.chromedriver();
+        if (major != null) {
+            manager.browserVersion(major);
+        }
+        manager.setup();
+        String downloaded = manager.getDownloadedDriverPath();
+        if (target == null) {
+            return downloaded;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Files.copy(Paths.get(downloaded), target, StandardCopyOption.REPLACE_EXISTING);
+            target.toFile().setExecutable(true);
+            logger.info("Pinned chromedriver for Chrome {} at {}", major, target);
+            return target.toString();
+        } catch (IOException e) {
+            logger.warn("Could not pin chromedriver to {}, using {}.", target, downloaded, e);
+            return downloaded;
+        }
+    }
+
+    private static Optional<Path> findChromeBinary() {
+        String configured = System.getProperty("chrome.binary", "");
+        if (!configured.isBlank()) {
+            return Optional.of(Paths.get(configured));
+        }
+        List<Path> candidates = new ArrayList<>();
+        String os = System.getProperty("os.name", "").toLowerCase(Locale.ROOT);
+        if (WINDOWS) {
+            for (String root : new String[]{System.getenv("ProgramFiles"), System.getenv("ProgramFiles(x86)"), System.getenv("LOCALAPPDATA")}) {
+                if (root != null) candidates.add(Paths.get(root, "Google", "Chrome", "Application", "chrome.exe"));
+            }
+        } else if (os.contains("mac")) {
+            candidates.add(Paths.get("/Applications/Google Chrome.app/Contents/MacOS/Google Chrome"));
+        } else {
+            for (String dir : System.getenv().getOrDefault("PATH", "").split(File.pathSeparator)) {
+                for (String name : new String[]{"google-chrome", "google-chrome-stable", "chromium", "chromium-browser"}) {
+                    candidates.add(Paths.get(dir, name));
+                }
+            }
+        }
+        return candidates.stream().filter(Files::isRegularFile).findFirst().map(ChromeDriverResolver::realPath);
+    }
+
+    private static Optional<String> queryVersion(Path binary) {
+        if (WINDOWS) {
+            // chrome.exe has no --version; the install keeps a directory named after the version next to it
+            try (Stream<Path> entries = Files.list(binary.getParent())) {
+                return entries.map(p -> p.getFileName().toString()).filter(name -> VERSION.matcher(name).matches()).max(ChromeDriverResolver::compareVersions);
+            } catch (IOException e) {
+                logger.debug("Could not list {}.", binary.getParent(), e);
+                return Optional.empty();
+            }
+        }
+        try {
+            Process process = new ProcessBuilder(binary.toString(), "--version").redirectErrorStream(true).start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            process.waitFor(10, TimeUnit.SECONDS);
+            Matcher matcher = VERSION.matcher(output);
+            return matcher.find() ? Optional.of(matcher.group()) : Optional.empty();
+        } catch (IOException e) {
+            logger.debug("Could not run {} --version.", binary, e);
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Compares dotted versions component by component, so that "120.0.1.2" is newer than "99.0.1.2".
+     */
+    private static int compareVersions(String a, String b) {
+        String[] left = a.split("\\.");
+        String[] right = b.split("\\.");
+        for (int i = 0; i < Math.max(left.length, right.length); i++) {
+            int cmp = Long.compare(i < left.length ? Long.parseLong(left[i]) : 0, i < right.length ? Long.parseLong(right[i]) : 0);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    private static String majorOf(String version) {
+        return version.substring(0, version.indexOf('.'));
+    }
+
+    private static Path realPath(Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            return path;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.accenture.task.driver;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Thread-confined holder for the WebDriver of the test running on the current thread.
+ * Test base classes bind the driver before each test and unbind it afterwards, so page objects
+ * created on that thread can never pick up another worker's browser.
+ */
+public final class DriverContext {
+
+    private static final ThreadLocal<WebDriver> CURRENT_DRIVER = new ThreadLocal<>();
+
+    private DriverContext() {
+    }
+
+    public static void bind(WebDriver driver) {
+        CURRENT_DRIVER.set(driver);
+    }
+
+    public static void unbind() {
+        CURRENT_DRIVER.remove();
+    }
+
+    /**
+     * Returns the driver bound to the current thread.
+     *
+     * @return The current thread's WebDriver.
+     * @throws IllegalStateException if no driver is bound to this thread.
+     */
+    public static WebDriver getDriver() {
+        WebDriver driver = CURRENT_DRIVER.get();
+        if (driver == null) {
+            throw new IllegalStateException("No WebDriver bound to thread '" + Thread.currentThread().getName() + "'.");
+        }
+        return driver;
+    }
+}
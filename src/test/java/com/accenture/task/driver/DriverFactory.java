@@ -0,0 +1,143 @@
+package com.accenture.task.driver;
+
+import com.accenture.task.utils.SuiteThroughputReporter;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single place where browser sessions are created. The chromedriver binary is resolved once per JVM and every
+ * session runs on the {@link SharedChromeDriverService}, so test classes neither repeat the WebDriverManager lookup
+ * nor spawn a driver process per browser ({@code -Ddriver.sharedService=false} restores one process per session).
+ * Sessions get the arguments of a {@link CapabilityProfile}, the {@link ExecutionMode}, the {@link TrafficCache}
+ * and {@link WireCallCounter}.
+ */
+public final class DriverFactory {
+
+    /**
+     * Script timeout every session starts with and is reset to. Async scripts enforce their own, shorter deadline,
+     * so this only has to outlast them; see {@link com.accenture.task.pageobjects.PageReadiness#executeAsyncScript}.
+     */
+    public static final Duration SCRIPT_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverFactory.class);
+    private static final boolean SHARED_SERVICE = Boolean.parseBoolean(System.getProperty("driver.sharedService", "true"));
+    private static final StartTimes SHARED_STARTS = new StartTimes();
+    private static final StartTimes DEDICATED_STARTS = new StartTimes();
+    private static String driverPath;
+
+    static {
+        SuiteThroughputReporter.addSummary("session starts", DriverFactory::logSessionStarts);
+    }
+
+    private DriverFactory() {
+    }
+
+    /**
+     * Creates a session with the configured capability profile and execution mode.
+     */
+    public static WebDriver create() {
+        return create(CapabilityProfile.current(), ExecutionMode.current(), false);
+    }
+
+    /**
+     * Creates a session.
+     *
+     * @param profile   Chrome arguments to start with.
+     * @param mode      Headless or headed.
+     * @param traceLogs Whether to collect the console and network logs read by {@link TraceRecorder},
+     *                  regardless of the mode.
+     * @return The configured, possibly decorated driver.
+     */
+    public static WebDriver create(CapabilityProfile profile, ExecutionMode mode, boolean traceLogs) {
+        ChromeOptions options = mode.configure(profile.toOptions());
+        if (traceLogs) {
+            ExecutionMode.enableTraceLogs(options);
+        }
+        WebDriver driver = newChromeDriver(options, SHARED_SERVICE);
+        if (!mode.isHeadless()) {
+            driver.manage().window().maximize();
+        }
+        return WireCallCounter.decorateIfEnabled(TrafficCache.attachIfEnabled(driver));
+    }
+
+    /**
+     * Resolves the chromedriver binary matching the installed Chrome with {@link ChromeDriverResolver}.
+     * Only the first call per JVM does the lookup.
+     *
+     * @return Path of the chromedriver executable.
+     */
+    public static synchronized String resolveDriverBinary() {
+        if (driverPath == null) {
+            try {
+                driverPath = ChromeDriverResolver.fromSystemProperties().resolve();
+            } catch (RuntimeException e) {
+                logger.error("Chromedriver resolution failed!", e);
+                throw e;
+            }
+        }
+        return driverPath;
+    }
+
+    /**
+     * Starts and quits one headless session and measures how long the session took to create.
+     *
+     * @param sharedService Whether to use the shared chromedriver or spawn a dedicated one, as a plain
+     *                      {@code new ChromeDriver(options)} does.
+     * @return Session creation time in nanoseconds.
+     */
+    public static long sessionStartNanos(boolean sharedService) {
+        long start = System.nanoTime();
+        WebDriver driver = newChromeDriver(ExecutionMode.HEADLESS.configure(CapabilityProfile.current().toOptions()), sharedService);
+        long elapsed = System.nanoTime() - start;
+        driver.quit();
+        return elapsed;
+    }
+
+    private static WebDriver newChromeDriver(ChromeOptions options, boolean sharedService) {
+        options.setScriptTimeout(SCRIPT_TIMEOUT);
+        long start = System.nanoTime();
+        ChromeDriverService service = sharedService
+                ? SharedChromeDriverService.get(resolveDriverBinary())
+                : new ChromeDriverService.Builder().usingDriverExecutable(new File(resolveDriverBinary())).usingAnyFreePort().build();
+        WebDriver driver = new ChromeDriver(service, options);
+        (sharedService ? SHARED_STARTS : DEDICATED_STARTS).add(System.nanoTime() - start);
+        return driver;
+    }
+
+    private static void logSessionStarts() {
+        if (SHARED_STARTS.count() > 0) {
+            logger.info("Session creation with the shared chromedriver: {}", SHARED_STARTS);
+        }
+        if (DEDICATED_STARTS.count() > 0) {
+            logger.info("Session creation with a dedicated chromedriver: {}", DEDICATED_STARTS);
+        }
+    }
+
+    private static class StartTimes {
+        private final AtomicLong sessions = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+
+        void add(long nanos) {
+            sessions.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+        }
+
+        long count() {
+            return sessions.get();
+        }
+
+        @Override
+        public String toString() {
+            return sessions.get() + " sessions, avg " + TimeUnit.NANOSECONDS.toMillis(totalNanos.get() / Math.max(1, sessions.get())) + " ms";
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.accenture.task.driver;
+
+import com.accenture.task.utils.SuiteThroughputReporter;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * JVM-wide pool of pre-warmed browser sessions.
+ * Tests lease a session instead of launching a new browser, and the session is reset
+ * (storage, cookies, script timeout, about:blank) when it is returned. A session is recycled after it
+ * has served {@code driver.pool.maxLeases} leases.
+ */
+public final class DriverPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+    private static final String PARALLELISM_KEY = "junit.jupiter.execution.parallel.config.fixed.parallelism";
+    private static final int DEFAULT_SIZE = Integer.getInteger("driver.pool.size", configuredWorkers());
+    private static final int DEFAULT_MAX_LEASES = Integer.getInteger("driver.pool.maxLeases", 25);
+    private static final Duration ACQUIRE_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration ACQUIRE_POLL = Duration.ofMillis(250);
+    private static volatile DriverPool shared;
+
+    private final Supplier<WebDriver> driverSupplier;
+    private final int maxLeasesPerSession;
+    private final Semaphore capacity;
+    private final BlockingDeque<PooledSession> idleSessions = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> leasedSessions = new ConcurrentHashMap<>();
+    private final ExecutorService warmUpExecutor;
+    private final AtomicInteger sessionIds = new AtomicInteger();
+    private final PoolStats stats = new PoolStats();
+
+    DriverPool(Supplier<WebDriver> driverSupplier, int size, int maxLeasesPerSession) {
+        this.driverSupplier = driverSupplier;
+        this.maxLeasesPerSession = maxLeasesPerSession;
+        this.capacity = new Semaphore(size);
+        this.warmUpExecutor = Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "driver-pool-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Creating driver pool (size {}, max {} leases per session).", size, maxLeasesPerSession);
+        for (int i = 0; i < size; i++) {
+            warmUpOneAsync();
+        }
+    }
+
+    /**
+     * Returns the pool shared by all test classes in this JVM, creating and pre-warming it on first use.
+     * The supplier passed by the first caller is the one used for the lifetime of the pool.
+     *
+     * @param driverSupplier Creates a new, fully configured browser session.
+     * @return The shared pool.
+     */
+    public static DriverPool shared(Supplier<WebDriver> driverSupplier) {
+        DriverPool pool = shared;
+        if (pool == null) {
+            synchronized (DriverPool.class) {
+                pool = shared;
+                if (pool == null) {
+                    DriverPool created = new DriverPool(driverSupplier, DEFAULT_SIZE, DEFAULT_MAX_LEASES);
+                    Runtime.getRuntime().addShutdownHook(new Thread(created::shutdown, "driver-pool-shutdown"));
+                    SuiteThroughputReporter.addSummary("driver pool", () -> logger.info(created.stats.summary()));
+                    shared = created;
+                    pool = created;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Leases a session for exclusive use by the caller. Blocks while all sessions are leased.
+     *
+     * @return A clean browser session positioned on about:blank.
+     */
+    public WebDriver acquire() {
+        long start = System.nanoTime();
+        long deadline = start + ACQUIRE_TIMEOUT.toNanos();
+        PooledSession session = idleSessions.pollFirst();
+        boolean launched = false;
+        if (session == null) {
+            logger.debug("No idle pooled session, launching one or waiting for one to be returned...");
+        }
+        try {
+            // Poll briefly so that capacity given back by a failed warm-up is picked up instead of waited out
+            while (session == null && System.nanoTime() < deadline) {
+                if (capacity.tryAcquire()) {
+                    session = startSession();
+                    launched = true;
+                } else {
+                    session = idleSessions.pollFirst(ACQUIRE_POLL.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled WebDriver session.", e);
+        }
+        if (session == null) {
+            throw new IllegalStateException("No pooled WebDriver session became available within " + ACQUIRE_TIMEOUT);
+        }
+
+        session.leases++;
+        leasedSessions.put(session.driver, session);
+        long elapsedNanos = System.nanoTime() - start;
+        stats.recordLease(launched, elapsedNanos);
+        logger.info("Leased {} session #{} (lease {}/{}) in {} ms.", launched ? "newly launched" : "warm", session.id, session.leases, maxLeasesPerSession, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return session.driver;
+    }
+
+    /**
+     * Returns a leased session to the pool. The session is reset for the next lease,
+     * or recycled if it reached its lease cap or cannot be reset.
+     *
+     * @param driver The driver obtained from {@link #acquire()}.
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            logger.warn("Released a WebDriver that is not leased from this pool. Quitting it.");
+            quitQuietly(driver);
+            return;
+        }
+        if (session.leases >= maxLeasesPerSession) {
+            logger.info("Session #{} served {} leases, recycling it.", session.id, session.leases);
+            retire(session);
+            warmUpOneAsync();
+            return;
+        }
+        long start = System.nanoTime();
+        if (reset(session)) {
+            stats.recordReset(System.nanoTime() - start);
+            idleSessions.offerFirst(session);
+        } else {
+            retire(session);
+            warmUpOneAsync();
+        }
+    }
+
+    /**
+     * Discards a leased session that is known to be broken, e.g. after a failed setup.
+     *
+     * @param driver The driver obtained from {@link #acquire()}.
+     */
+    public void invalidate(WebDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            quitQuietly(driver);
+            return;
+        }
+        logger.warn("Invalidating pooled session #{}.", session.id);
+        retire(session);
+        warmUpOneAsync();
+    }
+
+    /**
+     * Sizes the pool to the JUnit worker count so that every worker can hold a session.
+     */
+    private static int configuredWorkers() {
+        String workers = System.getProperty(PARALLELISM_KEY);
+        if (workers == null) {
+            Properties junitProperties = new Properties();
+            try (InputStream in = DriverPool.class.getResourceAsStream("/junit-platform.properties")) {
+                if (in != null) {
+                    junitProperties.load(in);
+                }
+            } catch (IOException e) {
+                logger.warn("Could not read junit-platform.properties, defaulting pool size to 1.", e);
+            }
+            boolean parallel = Boolean.parseBoolean(junitProperties.getProperty("junit.jupiter.execution.parallel.enabled"));
+            workers = parallel ? junitProperties.getProperty(PARALLELISM_KEY, "1") : "1";
+        }
+        try {
+            return Math.max(1, Integer.parseInt(workers.trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid worker count '{}', defaulting pool size to 1.", workers);
+            return 1;
+        }
+    }
+
+    private void warmUpOneAsync() {
+        if (!capacity.tryAcquire()) {
+            return;
+        }
+        warmUpExecutor.execute(() -> {
+            try {
+                idleSessions.offerLast(startSession());
+            } catch (Exception e) {
+                // startSession() has already given the capacity back
+                logger.error("Failed to pre-warm a WebDriver session.", e);
+            }
+        });
+    }
+
+    private PooledSession startSession() {
+        long start = System.nanoTime();
+        try {
+            WebDriver driver = driverSupplier.get();
+            long elapsedNanos = System.nanoTime() - start;
+            stats.recordLaunch(elapsedNanos);
+            PooledSession session = new PooledSession(sessionIds.incrementAndGet(), driver);
+            logger.info("Launched pooled session #{} in {} ms.", session.id, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            return session;
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    private boolean reset(PooledSession session) {
+        WebDriver driver = session.driver;
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i)).close();
+            }
+            driver.switchTo().window(handles.get(0));
+            // Storage is scoped to the current origin, so clear it before leaving the page
+            ((JavascriptExecutor) driver).executeScript("try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.manage().deleteAllCookies();
+            driver.manage().timeouts().scriptTimeout(DriverFactory.SCRIPT_TIMEOUT);
+            driver.get("about:blank");
+            logger.debug("Reset pooled session #{}.", session.id);
+            return true;
+        } catch (WebDriverException e) {
+            logger.warn("Could not reset pooled session #{}, it will be recycled.", session.id, e);
+            return false;
+        }
+    }
+
+    private void retire(PooledSession session) {
+        quitQuietly(session.driver);
+        capacity.release();
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.warn("Error quitting WebDriver session.", e);
+        }
+    }
+
+    private void shutdown() {
+        warmUpExecutor.shutdownNow();
+        List<PooledSession> remaining = new ArrayList<>(leasedSessions.values());
+        idleSessions.drainTo(remaining);
+        leasedSessions.clear();
+        for (PooledSession session : remaining) {
+            quitQuietly(session.driver);
+        }
+    }
+
+    private static class PooledSession {
+        final int id;
+        final WebDriver driver;
+        int leases;
+
+        PooledSession(int id, WebDriver driver) {
+            this.id = id;
+            this.driver = driver;
+        }
+    }
+
+    /**
+     * Lease timing counters used to estimate how much browser startup the pool saved
+     * compared with launching one browser per test.
+     */
+    private static class PoolStats {
+        private long leases;
+        private long launches;
+        private long launchNanos;
+        private long acquireNanos;
+        private long resets;
+        private long resetNanos;
+
+        synchronized void recordLaunch(long nanos) {
+            launches++;
+            launchNanos += nanos;
+        }
+
+        synchronized void recordLease(boolean launched, long nanos) {
+            leases++;
+            if (!launched) {
+                acquireNanos += nanos;
+            }
+        }
+
+        synchronized void recordReset(long nanos) {
+            resets++;
+            resetNanos += nanos;
+        }
+
+        synchronized String summary() {
+            if (launches == 0) {
+                return "Driver pool served no leases.";
+            }
+            long averageLaunchMs = TimeUnit.NANOSECONDS.toMillis(launchNanos / launches);
+            long perTestLaunchMs = averageLaunchMs * leases;
+            long poolCostMs = TimeUnit.NANOSECONDS.toMillis(launchNanos + acquireNanos + resetNanos);
+            return String.format("Driver pool served %d leases with %d browser launches (avg launch %d ms, %d resets in %d ms total). " + "Per-test launch would have cost ~%d ms, pool cost %d ms, saved ~%d ms.", leases, launches, averageLaunchMs, resets, TimeUnit.NANOSECONDS.toMillis(resetNanos), perTestLaunchMs, poolCostMs, perTestLaunchMs - poolCostMs);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.accenture.task.driver;
+
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+
+import java.util.logging.Level;
+
+/**
+ * How browsers are launched, selected with {@code -Dexecution.mode}. Headless is the default because a headed
+ * Chrome costs noticeably more CPU and memory per session; {@code headed} is meant for local debugging and
+ * {@code headless-with-recording} additionally keeps a trace (console and network log) of every test.
+ * {@link DriverFactory} applies the mode to every session it creates.
+ */
+public enum ExecutionMode {
+
+    HEADLESS("headless", true, false),
+    HEADED("headed", false, false),
+    HEADLESS_WITH_RECORDING("headless-with-recording", true, true);
+
+    private final String modeName;
+    private final boolean headless;
+    private final boolean recording;
+
+    ExecutionMode(String modeName, boolean headless, boolean recording) {
+        this.modeName = modeName;
+        this.headless = headless;
+        this.recording = recording;
+    }
+
+    /**
+     * @return The mode configured with {@code -Dexecution.mode}, {@link #HEADLESS} if unset.
+     */
+    public static ExecutionMode current() {
+        String configured = System.getProperty("execution.mode", HEADLESS.modeName);
+        for (ExecutionMode mode : values()) {
+            if (mode.modeName.equalsIgnoreCase(configured) || mode.name().equalsIgnoreCase(configured)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown execution mode '" + configured + "', expected one of headless, headed, headless-with-recording");
+    }
+
+    public String modeName() {
+        return modeName;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Adds the arguments and capabilities of this mode to the options.
+     *
+     * @param options The base options of the capability profile.
+     * @return The same options.
+     */
+    public ChromeOptions configure(ChromeOptions options) {
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
+        if (recording) {
+            enableTraceLogs(options);
+        }
+        return options;
+    }
+
+    /**
+     * Turns on the browser console and DevTools performance (network) logs read by {@link TraceRecorder}.
+     */
+    public static ChromeOptions enableTraceLogs(ChromeOptions options) {
+        LoggingPreferences logs = new LoggingPreferences();
+        logs.enable(LogType.BROWSER, Level.ALL);
+        logs.enable(LogType.PERFORMANCE, Level.ALL);
+        options.setCapability(ChromeOptions.LOGGING_PREFS, logs);
+        return options;
+    }
+}
@@ -0,0 +1,164 @@
+package com.accenture.task.driver;
+
+import com.accenture.task.utils.SuiteThroughputReporter;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Named browser resource profiles, enforced with CDP network request blocking ({@code Network.setBlockedURLs}).
+ * Assertions only read text, prices and form state, so most tests do not need images, fonts or third-party tags.
+ * Page-load time and bytes transferred are collected per profile and summarized at the end of the run.
+ */
+public enum ResourcePolicy {
+
+    /**
+     * Everything the page requests is loaded.
+     */
+    FULL("full", List.of()),
+    /**
+     * Images, video and audio are blocked.
+     */
+    NO_MEDIA("no-media", List.of("*.jpg", "*.jpeg", "*.png", "*.gif", "*.webp", "*.avif", "*.svg", "*.mp4", "*.webm", "*.mp3")),
+    /**
+     * Media, web fonts and analytics/advertising tags are blocked; styles and scripts still load, so
+     * visibility checks and the storefront's JavaScript behave as usual.
+     */
+    TEXT_ONLY("text-only", concat(NO_MEDIA.blockedUrls, List.of("*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot",
+            "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*", "*facebook.net*", "*hotjar.com*", "*newrelic.com*", "*nr-data.net*")));
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourcePolicy.class);
+    // Navigation timing of the current document plus the transfer size of every resource it loaded
+    private static final String PAGE_LOAD_SCRIPT =
+            "var nav = performance.getEntriesByType('navigation')[0];" +
+            "if (!nav || nav.loadEventEnd === 0) return null;" +
+            "var bytes = nav.transferSize;" +
+            "performance.getEntriesByType('resource').forEach(function (r) { bytes += r.transferSize; });" +
+            "return {loadMs: Math.round(nav.loadEventEnd - nav.startTime), bytes: bytes};";
+    private static final Map<WebDriver, ResourcePolicy> APPLIED = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<ResourcePolicy, Usage> USAGE = Collections.synchronizedMap(new EnumMap<>(ResourcePolicy.class));
+
+    static {
+        SuiteThroughputReporter.addSummary("resource policy", ResourcePolicy::logSummary);
+    }
+
+    private final String profileName;
+    private final List<String> blockedUrls;
+
+    ResourcePolicy(String profileName, List<String> blockedUrls) {
+        this.profileName = profileName;
+        this.blockedUrls = blockedUrls;
+    }
+
+    public String profileName() {
+        return profileName;
+    }
+
+    /**
+     * @param testMethod The running test method, or null when resolving for a whole class.
+     * @return The profile forced with {@code -Dresource.profile}, else the one selected by {@link ResourceProfile}
+     * on the method or class, else {@link #FULL}.
+     */
+    public static ResourcePolicy resolve(Class<?> testClass, Method testMethod) {
+        String forced = System.getProperty("resource.profile", "");
+        if (!forced.isBlank()) {
+            return byName(forced);
+        }
+        if (testMethod != null && testMethod.isAnnotationPresent(ResourceProfile.class)) {
+            return testMethod.getAnnotation(ResourceProfile.class).value();
+        }
+        ResourceProfile classProfile = testClass.getAnnotation(ResourceProfile.class);
+        return classProfile != null ? classProfile.value() : FULL;
+    }
+
+    public static ResourcePolicy byName(String name) {
+        for (ResourcePolicy policy : values()) {
+            if (policy.profileName.equalsIgnoreCase(name) || policy.name().equalsIgnoreCase(name)) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown resource profile '" + name + "', expected one of text-only, no-media, full");
+    }
+
+    /**
+     * Applies this profile to the browser. Pooled drivers keep the last applied profile, so the CDP
+     * calls are only made when the profile changes.
+     *
+     * @param driver The (possibly decorated) driver to configure.
+     */
+    public void applyTo(WebDriver driver) {
+        if (APPLIED.get(driver) == this) {
+            return;
+        }
+        Optional<HasCdp> cdpChannel = CdpSupport.of(driver);
+        if (cdpChannel.isEmpty()) {
+            logger.warn("Resource profile '{}' needs a Chromium driver; loading everything.", profileName);
+            return;
+        }
+        HasCdp cdp = cdpChannel.get();
+        cdp.executeCdpCommand("Network.enable", Map.of());
+        cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", blockedUrls));
+        APPLIED.put(driver, this);
+        logger.debug("Resource profile '{}' applied ({} blocked URL patterns).", profileName, blockedUrls.size());
+    }
+
+    /**
+     * Records the load time and transferred bytes of the page currently open in the browser under this profile.
+     * Cross-origin resources without a Timing-Allow-Origin header report no size and are not counted.
+     */
+    public void recordCurrentPage(WebDriver driver) {
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(PAGE_LOAD_SCRIPT);
+            if (result instanceof Map<?, ?> metrics) {
+                long loadMs = ((Number) metrics.get("loadMs")).longValue();
+                long bytes = ((Number) metrics.get("bytes")).longValue();
+                USAGE.computeIfAbsent(this, policy -> new Usage()).add(loadMs, bytes);
+                logger.debug("Page under profile '{}' loaded in {} ms, {} KB transferred.", profileName, loadMs, bytes / 1024);
+            }
+        } catch (Exception e) {
+            logger.debug("Could not read page load metrics.", e);
+        }
+    }
+
+    private static void logSummary() {
+        synchronized (USAGE) {
+            USAGE.forEach((policy, usage) -> logger.info("Resource profile '{}': {}", policy.profileName, usage));
+        }
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> all = new ArrayList<>(first);
+        all.addAll(second);
+        return List.copyOf(all);
+    }
+
+    private static class Usage {
+        private final AtomicLong pages = new AtomicLong();
+        private final AtomicLong loadMs = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+
+        void add(long pageLoadMs, long pageBytes) {
+            pages.incrementAndGet();
+            loadMs.addAndGet(pageLoadMs);
+            bytes.addAndGet(pageBytes);
+        }
+
+        @Override
+        public String toString() {
+            long count = Math.max(1, pages.get());
+            return pages.get() + " pages, avg load " + loadMs.get() / count + " ms, avg " + bytes.get() / count / 1024 + " KB transferred";
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.accenture.task.driver;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects the {@link ResourcePolicy} the browser uses while a test runs. A method annotation
+ * overrides the class annotation, unannotated tests use {@code full}, and {@code -Dresource.profile}
+ * forces one profile for the whole run.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+public @interface ResourceProfile {
+
+    ResourcePolicy value();
+}
@@ -0,0 +1,107 @@
+package com.accenture.task.driver;
+
+import com.accenture.task.utils.SuiteThroughputReporter;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Browser resource usage of a session, read with CDP {@code Performance.getMetrics}: the JavaScript heap in use
+ * and the main-thread CPU time spent on tasks. Per-test usage is accumulated per {@link ExecutionMode} and
+ * summarized at the end of the run, so headless and headed runs can be compared.
+ */
+public class SessionMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionMetrics.class);
+    private static final Map<ExecutionMode, Totals> TOTALS = Collections.synchronizedMap(new EnumMap<>(ExecutionMode.class));
+
+    static {
+        SuiteThroughputReporter.addSummary("session metrics", SessionMetrics::logSummary);
+    }
+
+    public final long heapUsedBytes;
+    public final double taskSeconds;
+
+    SessionMetrics(long heapUsedBytes, double taskSeconds) {
+        this.heapUsedBytes = heapUsedBytes;
+        this.taskSeconds = taskSeconds;
+    }
+
+    /**
+     * @return The current metrics of the session, or empty if they cannot be read.
+     */
+    @SuppressWarnings("unchecked")
+    public static Optional<SessionMetrics> capture(WebDriver driver) {
+        Optional<HasCdp> cdp = CdpSupport.of(driver);
+        if (cdp.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            cdp.get().executeCdpCommand("Performance.enable", Map.of());
+            List<Map<String, Object>> metrics = (List<Map<String, Object>>) cdp.get().executeCdpCommand("Performance.getMetrics", Map.of()).get("metrics");
+            long heap = 0;
+            double tasks = 0;
+            for (Map<String, Object> metric : metrics) {
+                switch ((String) metric.get("name")) {
+                    case "JSHeapUsedSize" -> heap = ((Number) metric.get("value")).longValue();
+                    case "TaskDuration" -> tasks = ((Number) metric.get("value")).doubleValue();
+                    default -> {
+                    }
+                }
+            }
+            return Optional.of(new SessionMetrics(heap, tasks));
+        } catch (Exception e) {
+            logger.debug("Could not read performance metrics.", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Logs and accumulates the usage since {@code start} under the given mode.
+     */
+    public static void record(ExecutionMode mode, String testName, SessionMetrics start, WebDriver driver) {
+        capture(driver).ifPresent(end -> {
+            // TaskDuration restarts when a navigation swaps the renderer process
+            double cpuSeconds = end.taskSeconds >= start.taskSeconds ? end.taskSeconds - start.taskSeconds : end.taskSeconds;
+            logger.info(String.format("'%s' [%s]: %.2f s browser CPU, %d MB JS heap.", testName, mode.modeName(), cpuSeconds, end.heapUsedBytes / (1024 * 1024)));
+            TOTALS.computeIfAbsent(mode, m -> new Totals()).add(cpuSeconds, end.heapUsedBytes);
+        });
+    }
+
+    private static void logSummary() {
+        synchronized (TOTALS) {
+            TOTALS.forEach((mode, totals) -> logger.info("Execution mode '{}': {}", mode.modeName(), totals));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SessionMetrics{" + "heapUsedBytes=" + heapUsedBytes + ", taskSeconds=" + taskSeconds + '}';
+    }
+
+    private static class Totals {
+        private final AtomicLong tests = new AtomicLong();
+        private final AtomicLong cpuMillis = new AtomicLong();
+        private final AtomicLong heapBytes = new AtomicLong();
+
+        void add(double cpuSeconds, long heapUsedBytes) {
+            tests.incrementAndGet();
+            cpuMillis.addAndGet(Math.round(cpuSeconds * 1000));
+            heapBytes.addAndGet(heapUsedBytes);
+        }
+
+        @Override
+        public String toString() {
+            long count = Math.max(1, tests.get());
+            return tests.get() + " tests, avg " + cpuMillis.get() / count + " ms browser CPU, avg " + heapBytes.get() / count / (1024 * 1024) + " MB JS heap";
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.accenture.task.driver;
+
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.net.PortProber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One chromedriver process shared by every browser session of the JVM. Before a session is created the service is
+ * health-checked (process alive and {@code /status} reporting ready) and restarted if it crashed or hangs.
+ * It is stopped by a shutdown hook.
+ * <p>
+ * A {@link org.openqa.selenium.chrome.ChromeDriver} normally stops its service when it quits, which would kill the
+ * chromedriver under every other session; the shared service therefore ignores {@link #stop()} and only
+ * {@link #shutdown()} ends the process.
+ */
+public final class SharedChromeDriverService extends ChromeDriverService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedChromeDriverService.class);
+    private static final Duration STATUS_TIMEOUT = Duration.ofSeconds(2);
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(STATUS_TIMEOUT).build();
+
+    private static SharedChromeDriverService instance;
+    private static int restarts;
+    private static boolean shutdownHookAdded;
+
+    private SharedChromeDriverService(File executable, int port) throws IOException {
+        super(executable, port, Duration.ofSeconds(20), List.of("--port=" + port), Map.of());
+    }
+
+    /**
+     * @param executable Path of the chromedriver binary, used when the service has to be (re)started.
+     * @return The running, healthy shared service.
+     */
+    public static synchronized SharedChromeDriverService get(String executable) {
+        if (instance != null && instance.isHealthy()) {
+            return instance;
+        }
+        if (instance != null) {
+            restarts++;
+            logger.warn("Shared chromedriver at {} is not responding, restarting it (restart #{}).", instance.getUrl(), restarts);
+            instance.shutdown();
+        }
+        instance = startNew(executable);
+        if (!shutdownHookAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread(SharedChromeDriverService::shutdownShared, "chromedriver-service-stop"));
+            shutdownHookAdded = true;
+        }
+        return instance;
+    }
+
+    /**
+     * @return How often the shared service had to be restarted in this JVM.
+     */
+    public static synchronized int restarts() {
+        return restarts;
+    }
+
+    /**
+     * @return true if the process is alive and chromedriver reports it is ready for new sessions.
+     */
+    public boolean isHealthy() {
+        if (!isRunning()) {
+            return false;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(getUrl() + "/status")).timeout(STATUS_TIMEOUT).GET().build();
+            HttpResponse<String> response = HTTP.send(request, HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 && response.body().replace(" ", "").contains("\"ready\":true");
+        } catch (IOException e) {
+            logger.debug("Health check of {} failed.", getUrl(), e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Ignored: sessions quitting must not stop the chromedriver other sessions still use.
+     */
+    @Override
+    public void stop() {
+        // Only shutdown() stops the shared process
+    }
+
+    /**
+     * Stops the chromedriver process.
+     */
+    public void shutdown() {
+        super.stop();
+    }
+
+    private static SharedChromeDriverService startNew(String executable) {
+        long start = System.nanoTime();
+        try {
+            SharedChromeDriverService service = new SharedChromeDriverService(new File(executable), PortProber.findFreePort());
+            service.start();
+            logger.info("Shared chromedriver service started at {} in {} ms.", service.getUrl(), (System.nanoTime() - start) / 1_000_000);
+            return service;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start chromedriver", e);
+        }
+    }
+
+    private static synchronized void shutdownShared() {
+        if (instance != null) {
+            instance.shutdown();
+            logger.info("Shared chromedriver service stopped ({} restart(s) during the run).", restarts);
+            instance = null;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.accenture.task.driver;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.stream.Collectors;
+
+/**
+ * Saves a debugging trace of a browser session under {@code target/traces}: a screenshot, the page source,
+ * the console log and the DevTools network log. The logs are only available for drivers started with
+ * {@link ExecutionMode#enableTraceLogs}.
+ */
+public final class TraceRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TraceRecorder.class);
+    private static final Path TRACE_ROOT = Paths.get(System.getProperty("execution.traceDir", "target/traces"));
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private TraceRecorder() {
+    }
+
+    /**
+     * Drops the log entries collected so far, so the next trace of a pooled session only covers the next test.
+     */
+    public static void discard(WebDriver driver) {
+        try {
+            driver.manage().logs().get(LogType.BROWSER);
+            driver.manage().logs().get(LogType.PERFORMANCE);
+        } catch (Exception e) {
+            logger.debug("Could not drain browser logs.", e);
+        }
+    }
+
+    /**
+     * Writes the trace of the session's current state.
+     *
+     * @param traceName Name of the trace directory, usually the test name.
+     * @return The directory the trace was written to.
+     */
+    public static Path save(WebDriver driver, String traceName) {
+        Path directory = TRACE_ROOT.resolve(traceName.replaceAll("[^A-Za-z0-9._-]+", "_") + "-" + LocalDateTime.now().format(TIMESTAMP));
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("screenshot.png"), ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+            Files.writeString(directory.resolve("page.html"), driver.getPageSource(), StandardCharsets.UTF_8);
+            writeLog(driver, LogType.BROWSER, directory.resolve("console.log"));
+            writeLog(driver, LogType.PERFORMANCE, directory.resolve("network.log"));
+            logger.info("Trace of '{}' saved to {}", traceName, directory.toAbsolutePath());
+        } catch (Exception e) {
+            logger.warn("Could not save the trace of '{}'.", traceName, e);
+        }
+        return directory;
+    }
+
+    private static void writeLog(WebDriver driver, String logType, Path file) throws IOException {
+        String lines;
+        try {
+            lines = driver.manage().logs().get(logType).getAll().stream().map(LogEntry::toString).collect(Collectors.joining(System.lineSeparator()));
+        } catch (Exception e) {
+            logger.debug("Log '{}' is not available.", logType, e);
+            return;
+        }
+        Files.writeString(file, lines, StandardCharsets.UTF_8);
+    }
+}
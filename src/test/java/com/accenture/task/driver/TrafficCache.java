@@ -0,0 +1,232 @@
+package com.accenture.task.driver;
+
+import com.accenture.task.utils.SuiteThroughputReporter;
+import com.accenture.task.utils.TestUtils;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Record-and-replay cache for browser traffic, plugged into Chrome through CDP request interception.
+ * Enabled with {@code -Dtraffic.cache.mode=record} or {@code replay}: in record mode every cacheable response is
+ * fetched from the network and stored, in replay mode stored responses are served from disk and only misses reach
+ * the network (and are recorded). Only successful GET responses are cached; by default only static assets
+ * (scripts, styles, fonts, images), with {@code -Dtraffic.cache.scope=pages} also the catalog HTML pages.
+ */
+public final class TrafficCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficCache.class);
+
+    private static final String MODE = System.getProperty("traffic.cache.mode", "off").toLowerCase(Locale.ROOT);
+    private static final boolean CACHE_PAGES = "pages".equalsIgnoreCase(System.getProperty("traffic.cache.scope", "static"));
+    private static final long MAX_BYTES = Integer.getInteger("traffic.cache.maxMb", 512) * 1024L * 1024L;
+    private static final Duration MAX_AGE = Duration.ofHours(Integer.getInteger("traffic.cache.maxAgeHours", 24));
+
+    private static final Pattern STATIC_ASSET = Pattern.compile(".*\\.(js|css|woff2?|ttf|eot|otf|svg|png|jpe?g|gif|webp|ico)$");
+    // Pages whose content depends on the session always go to the network
+    private static final Pattern SESSION_PAGE = Pattern.compile(".*/(customer|checkout|wishlist|sales)/.*");
+    // Hop-by-hop and session headers that must not be replayed
+    private static final Set<String> DROPPED_HEADERS = Set.of("set-cookie", "content-encoding", "content-length", "transfer-encoding", "connection", "keep-alive");
+
+    // Weak keys, so sessions retired by the pool do not stay reachable through their statistics
+    private static final Map<WebDriver, Stats> STATS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Stats TOTALS = new Stats();
+    private static volatile TrafficStore store;
+
+    private TrafficCache() {
+    }
+
+    public static boolean isEnabled() {
+        return MODE.equals("record") || MODE.equals("replay");
+    }
+
+    /**
+     * Installs the interception layer on the driver when the cache is enabled. Must be called on the
+     * undecorated driver, which has to support DevTools.
+     *
+     * @param driver The driver whose traffic should go through the cache.
+     * @return The same driver.
+     */
+    public static WebDriver attachIfEnabled(WebDriver driver) {
+        if (!isEnabled()) {
+            return driver;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            logger.warn("Traffic cache needs a DevTools capable driver, {} is not; caching disabled for it.", driver.getClass().getSimpleName());
+            return driver;
+        }
+        Stats stats = new Stats();
+        STATS.put(driver, stats);
+        // The interceptor lives as long as the browser; it is never closed explicitly
+        new NetworkInterceptor(driver, cachingFilter(store(), stats));
+        logger.info("Traffic cache attached in {} mode.", MODE);
+        return driver;
+    }
+
+    /**
+     * @param driver The driver the cache was attached to, or a decorator wrapping it.
+     * @return The live statistics of the given driver, or an empty snapshot if the cache is not attached to it.
+     */
+    public static Stats statsFor(WebDriver driver) {
+        WebDriver target = driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+        Stats stats = STATS.get(target);
+        return stats != null ? stats : new Stats();
+    }
+
+    private static Filter cachingFilter(TrafficStore trafficStore, Stats stats) {
+        boolean replay = MODE.equals("replay");
+        return next -> request -> {
+            if (!isCacheable(request)) {
+                return next.execute(request);
+            }
+            String key = request.getMethod() + " " + request.getUri();
+            if (replay) {
+                Optional<TrafficStore.Recorded> recorded = trafficStore.lookup(key);
+                if (recorded.isPresent()) {
+                    stats.hit(recorded.get().body.length);
+                    return toResponse(recorded.get());
+                }
+            }
+            HttpResponse response = next.execute(request);
+            byte[] body = Contents.bytes(response.getContent());
+            response.setContent(Contents.bytes(body));
+            stats.miss(body.length);
+            if (response.getStatus() == 200) {
+                trafficStore.put(key, response.getStatus(), replayableHeaders(response), body);
+            }
+            return response;
+        };
+    }
+
+    private static boolean isCacheable(HttpRequest request) {
+        if (request.getMethod() != HttpMethod.GET) {
+            return false;
+        }
+        String path = URI.create(request.getUri()).getPath();
+        if (path == null) {
+            return false;
+        }
+        if (STATIC_ASSET.matcher(path.toLowerCase(Locale.ROOT)).matches()) {
+            return true;
+        }
+        return CACHE_PAGES && !SESSION_PAGE.matcher(path).matches() && (path.endsWith(".html") || path.endsWith("/"));
+    }
+
+    private static Map<String, String> replayableHeaders(HttpResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!DROPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, response.getHeader(name));
+            }
+        }
+        return headers;
+    }
+
+    private static HttpResponse toResponse(TrafficStore.Recorded recorded) {
+        HttpResponse response = new HttpResponse().setStatus(recorded.status);
+        recorded.headers.forEach(response::setHeader);
+        response.setContent(Contents.bytes(recorded.body));
+        return response;
+    }
+
+    private static TrafficStore store() {
+        if (store == null) {
+            synchronized (TrafficCache.class) {
+                if (store == null) {
+                    TrafficStore created = new TrafficStore(TestUtils.localCachePath("traffic"), MAX_BYTES, MAX_AGE);
+                    Runtime.getRuntime().addShutdownHook(new Thread(created::evictAndFlush, "traffic-cache-flush"));
+                    SuiteThroughputReporter.addSummary("traffic cache", () -> logger.info("Traffic cache totals: {}; {} responses ({} KB) stored.", TOTALS, created.size(), created.totalBytes() / 1024));
+                    store = created;
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Hit/miss counters of one driver. A hit is a response served from disk, a miss one fetched from the network.
+     */
+    public static class Stats {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong bytesSaved = new AtomicLong();
+        private final AtomicLong bytesFetched = new AtomicLong();
+
+        void hit(long bytes) {
+            hits.incrementAndGet();
+            bytesSaved.addAndGet(bytes);
+            if (this != TOTALS) TOTALS.hit(bytes);
+        }
+
+        void miss(long bytes) {
+            misses.incrementAndGet();
+            bytesFetched.addAndGet(bytes);
+            if (this != TOTALS) TOTALS.miss(bytes);
+        }
+
+        public long hits() {
+            return hits.get();
+        }
+
+        public long misses() {
+            return misses.get();
+        }
+
+        public long bytesSaved() {
+            return bytesSaved.get();
+        }
+
+        public long bytesFetched() {
+            return bytesFetched.get();
+        }
+
+        /**
+         * @return A copy of the current counters.
+         */
+        public Stats snapshot() {
+            Stats copy = new Stats();
+            copy.hits.set(hits());
+            copy.misses.set(misses());
+            copy.bytesSaved.set(bytesSaved());
+            copy.bytesFetched.set(bytesFetched());
+            return copy;
+        }
+
+        /**
+         * @return The counters accumulated since the given snapshot.
+         */
+        public Stats minus(Stats earlier) {
+            Stats delta = new Stats();
+            delta.hits.set(hits() - earlier.hits());
+            delta.misses.set(misses() - earlier.misses());
+            delta.bytesSaved.set(bytesSaved() - earlier.bytesSaved());
+            delta.bytesFetched.set(bytesFetched() - earlier.bytesFetched());
+            return delta;
+        }
+
+        @Override
+        public String toString() {
+            return hits() + " hits, " + misses() + " misses, " + bytesSaved() / 1024 + " KB saved, " + bytesFetched() / 1024 + " KB fetched";
+        }
+    }
+}
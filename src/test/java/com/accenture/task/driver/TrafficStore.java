@@ -0,0 +1,221 @@
+package com.accenture.task.driver;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-disk, content-addressed store of recorded HTTP responses. Bodies are saved once per SHA-256 under
+ * {@code blobs/}, and an index maps request keys to a blob, status and headers. Entries older than the
+ * maximum age count as stale, and the least recently used entries are evicted above the size limit.
+ */
+class TrafficStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficStore.class);
+    private static final Json JSON = new Json();
+    private static final int FLUSH_EVERY_PUTS = 50;
+
+    private final Path directory;
+    private final Path indexFile;
+    private final long maxBytes;
+    private final Duration maxAge;
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private int putsSinceFlush;
+
+    TrafficStore(Path directory, long maxBytes, Duration maxAge) {
+        this.directory = directory;
+        this.indexFile = directory.resolve("index.json");
+        this.maxBytes = maxBytes;
+        this.maxAge = maxAge;
+        load();
+    }
+
+    /**
+     * @return The recorded response for the key, or empty if there is none or it is stale.
+     */
+    Optional<Recorded> lookup(String key) {
+        Entry entry = index.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (System.currentTimeMillis() - entry.storedAtMillis > maxAge.toMillis()) {
+            logger.debug("Recorded response for {} is stale.", key);
+            remove(key);
+            return Optional.empty();
+        }
+        try {
+            byte[] body = Files.readAllBytes(blobPath(entry.sha256));
+            entry.lastAccessMillis = System.currentTimeMillis();
+            return Optional.of(new Recorded(entry.status, entry.headers, body));
+        } catch (IOException e) {
+            logger.debug("Blob for {} is missing, dropping the entry.", key, e);
+            index.remove(key);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Records a response, replacing any previous recording for the key.
+     */
+    void put(String key, int status, Map<String, String> headers, byte[] body) {
+        String sha256 = sha256(body);
+        Path blob = blobPath(sha256);
+        try {
+            if (!Files.exists(blob)) {
+                Files.createDirectories(blob.getParent());
+                Path temp = Files.createTempFile(blob.getParent(), sha256, ".tmp");
+                Files.write(temp, body);
+                Files.move(temp, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not record response for {}.", key, e);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        index.put(key, new Entry(sha256, status, headers, body.length, now, now));
+        synchronized (this) {
+            if (++putsSinceFlush >= FLUSH_EVERY_PUTS) {
+                evictAndFlush();
+            }
+        }
+    }
+
+    /**
+     * Evicts least recently used entries above the size limit and persists the index.
+     */
+    synchronized void evictAndFlush() {
+        putsSinceFlush = 0;
+        long total = totalBytes();
+        if (total > maxBytes) {
+            List<Map.Entry<String, Entry>> byAge = new ArrayList<>(index.entrySet());
+            byAge.sort(Comparator.comparingLong(e -> e.getValue().lastAccessMillis));
+            int evicted = 0;
+            for (Map.Entry<String, Entry> oldest : byAge) {
+                if (total <= maxBytes * 9 / 10) break;
+                total -= oldest.getValue().size;
+                remove(oldest.getKey());
+                evicted++;
+            }
+            logger.info("Evicted {} recorded responses to stay under {} MB.", evicted, maxBytes / (1024 * 1024));
+        }
+        Map<String, Object> json = new HashMap<>();
+        index.forEach((key, entry) -> json.put(key, entry.toJson()));
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "index", ".tmp");
+            Files.writeString(temp, JSON.toJson(json), StandardCharsets.UTF_8);
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not persist the traffic cache index.", e);
+        }
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    long totalBytes() {
+        // Bodies are deduplicated on disk, so count each blob once
+        Map<String, Long> blobs = new HashMap<>();
+        index.values().forEach(entry -> blobs.put(entry.sha256, entry.size));
+        return blobs.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private void remove(String key) {
+        Entry removed = index.remove(key);
+        if (removed != null && index.values().stream().noneMatch(e -> e.sha256.equals(removed.sha256))) {
+            try {
+                Files.deleteIfExists(blobPath(removed.sha256));
+            } catch (IOException e) {
+                logger.debug("Could not delete blob {}.", removed.sha256, e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load() {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        try {
+            Map<String, Object> json = JSON.toType(Files.readString(indexFile, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            json.forEach((key, value) -> index.put(key, Entry.fromJson((Map<String, Object>) value)));
+            logger.info("Loaded {} recorded responses ({} KB) from {}.", index.size(), totalBytes() / 1024, directory);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not read the traffic cache index, starting empty.", e);
+            index.clear();
+        }
+    }
+
+    private Path blobPath(String sha256) {
+        return directory.resolve("blobs").resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A response read back from the store.
+     */
+    static class Recorded {
+        final int status;
+        final Map<String, String> headers;
+        final byte[] body;
+
+        Recorded(int status, Map<String, String> headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    private static class Entry {
+        final String sha256;
+        final int status;
+        final Map<String, String> headers;
+        final long size;
+        final long storedAtMillis;
+        volatile long lastAccessMillis;
+
+        Entry(String sha256, int status, Map<String, String> headers, long size, long storedAtMillis, long lastAccessMillis) {
+            this.sha256 = sha256;
+            this.status = status;
+            this.headers = headers;
+            this.size = size;
+            this.storedAtMillis = storedAtMillis;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+
+        Map<String, Object> toJson() {
+            Map<String, Object> json = new HashMap<>();
+            json.put("sha256", sha256);
+            json.put("status", status);
+            json.put("headers", headers);
+            json.put("size", size);
+            json.put("storedAt", storedAtMillis);
+            json.put("lastAccess", lastAccessMillis);
+            return json;
+        }
+
+        @SuppressWarnings("unchecked")
+        static Entry fromJson(Map<String, Object> json) {
+            return new Entry((String) json.get("sha256"), ((Number) json.get("status")).intValue(), (Map<String, String>) json.get("headers"), ((Number) json.get("size")).longValue(), ((Number) json.get("storedAt")).longValue(), ((Number) json.get("lastAccess")).longValue());
+        }
+    }
+}
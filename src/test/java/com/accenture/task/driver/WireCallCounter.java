@@ -0,0 +1,52 @@
+package com.accenture.task.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * Counts WebDriver commands sent to the browser by the current thread. Enabled with
+ * {@code -Dwebdriver.countCalls=true}; drivers are then decorated so every driver, element,
+ * navigation and options call that reaches chromedriver is counted.
+ */
+public class WireCallCounter implements WebDriverListener {
+
+    private static final boolean ENABLED = Boolean.getBoolean("webdriver.countCalls");
+    // Methods answered by the client without a round trip to chromedriver
+    private static final Set<String> LOCAL_METHODS = Set.of("toString", "equals", "hashCode", "getWrappedDriver", "getWrappedElement", "manage", "switchTo", "navigate", "window", "timeouts", "getSessionId", "getCapabilities", "getCoordinates");
+    private static final ThreadLocal<long[]> CALLS = ThreadLocal.withInitial(() -> new long[1]);
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Wraps the driver in a counting decorator when counting is enabled.
+     *
+     * @param driver The driver to wrap.
+     * @return The decorated driver, or the same driver if counting is disabled.
+     */
+    public static WebDriver decorateIfEnabled(WebDriver driver) {
+        if (!ENABLED) {
+            return driver;
+        }
+        return new EventFiringDecorator<>(new WireCallCounter()).decorate(driver);
+    }
+
+    /**
+     * @return The number of WebDriver commands issued by the current thread so far.
+     */
+    public static long currentThreadCalls() {
+        return CALLS.get()[0];
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!LOCAL_METHODS.contains(method.getName())) {
+            CALLS.get()[0]++;
+        }
+    }
+}
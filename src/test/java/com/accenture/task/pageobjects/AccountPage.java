@@ -82,13 +82,11 @@ public class AccountPage extends BasePage {
     }
 
     public String getSuccessMessage() {
-        try {
-            wait.withTimeout(Duration.ofSeconds(5)).until(ExpectedConditions.visibilityOf(successMessage));
-            return getTextFromElement(successMessage);
-        } catch (Exception e) {
-            logger.warn("Success message element not found or timed out.");
-            return "";
+        String message = getFirstShownText(Duration.ofSeconds(5), successMessage);
+        if (message.isEmpty()) {
+            logger.warn("Success message not shown after the page settled.");
         }
+        return message;
     }
 
     public boolean isUserLoggedInOnAccountPage() {
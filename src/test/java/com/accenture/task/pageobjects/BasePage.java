@@ -1,5 +1,6 @@
 package com.accenture.task.pageobjects;
 
+import com.accenture.task.driver.DriverContext;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -8,40 +9,91 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
 
 public abstract class BasePage {
     protected static final Logger logger = LoggerFactory.getLogger(BasePage.class);
-    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+    protected static final Duration TIMEOUT = Duration.ofSeconds(20);
+    private static final StackWalker STACK = StackWalker.getInstance();
     protected WebDriver driver;
     protected WebDriverWait wait;
+    protected PageReadiness readiness;
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, TIMEOUT);
-        PageFactory.initElements(driver, this);
+        this.wait = EventDrivenWait.create(driver, TIMEOUT);
+        this.readiness = new PageReadiness(driver);
+        if (LocatorCache.ENABLED) {
+            PageFactory.initElements(new LocatorCache(driver).decorator(), this);
+        } else {
+            PageFactory.initElements(driver, this);
+        }
         logger.debug("Initialized Page: {}", this.getClass().getSimpleName());
     }
 
+    /**
+     * Creates the page for the WebDriver bound to the current test thread.
+     */
+    protected BasePage() {
+        this(DriverContext.getDriver());
+    }
+
     public HeaderPage getHeader() {
         return new HeaderPage(driver);
     }
 
+    /**
+     * Waits at a named site with a fresh wait whose timeout and polling come from the site's observed latencies,
+     * capped at {@code ceiling}. Records the latency when the wait succeeds, and the elapsed time when it times out
+     * so that the site's budget widens again.
+     *
+     * @param site      Name of the wait within the page, e.g. "expandCart"; prefixed with the page class.
+     * @param ceiling   The longest the wait may take.
+     * @param condition The condition to wait for.
+     * @return The condition's result.
+     */
+    protected <T> T waitUntil(String site, Duration ceiling, Function<? super WebDriver, T> condition) {
+        String key = getClass().getSimpleName() + "." + site;
+        WaitBudgets.Budget budget = WaitBudgets.budgetFor(key, ceiling);
+        logger.debug("Waiting at {} with {}", key, budget);
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = EventDrivenWait.create(driver, budget.timeout, budget.polling).until(condition);
+        } catch (TimeoutException e) {
+            WaitBudgets.recordTimeout(key, Duration.ofNanos(System.nanoTime() - start));
+            throw e;
+        }
+        WaitBudgets.record(key, Duration.ofNanos(System.nanoTime() - start));
+        return result;
+    }
+
+    /**
+     * @return The name of the page method that led to the current BasePage helper, so that waits for the same
+     * element from different places (e.g. right after a navigation or on a settled page) are budgeted apart.
+     */
+    private static String callingMethod() {
+        return STACK.walk(frames -> frames.filter(frame -> !frame.getClassName().equals(BasePage.class.getName())).findFirst().map(StackWalker.StackFrame::getMethodName).orElse("unknown"));
+    }
+
     protected void waitForElementToBeVisible(WebElement element) {
         try {
-            wait.until(ExpectedConditions.visibilityOf(element));
-            logger.debug("Element is visible: {}", getShortElementDescription(element));
+            waitUntil(callingMethod() + " visible " + LocatorMetadata.description(element), TIMEOUT, ExpectedConditions.visibilityOf(element));
+            logger.debug("Element is visible: {}", describe(element));
         } catch (Exception e) {
-            logger.error("Timeout waiting for element visibility: {}", getShortElementDescription(element), e);
+            logger.error("Timeout waiting for element visibility: {}", describe(element), e);
             throw e;
         }
     }
 
     protected void waitForElementToBeClickable(WebElement element) {
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(element));
-            logger.debug("Element is clickable: {}", getShortElementDescription(element));
+            waitUntil(callingMethod() + " clickable " + LocatorMetadata.description(element), TIMEOUT, ExpectedConditions.elementToBeClickable(element));
+            logger.debug("Element is clickable: {}", describe(element));
         } catch (Exception e) {
-            logger.error("Timeout waiting for element to be clickable: {}", getShortElementDescription(element), e);
+            logger.error("Timeout waiting for element to be clickable: {}", describe(element), e);
             throw e;
         }
     }
@@ -57,35 +109,36 @@ public abstract class BasePage {
         while (attempts < 2) {
             try {
                 waitForElementToBeClickable(element);
-                String elementDesc = getShortElementDescription(element);
+                Object elementDesc = describe(element);
                 logger.info("Attempting standard click on element: {}", elementDesc);
                 element.click();
+                domChanged();
                 logger.debug("Standard click successful for: {}", elementDesc);
                 return; // Success
             } catch (StaleElementReferenceException e) {
                 attempts++;
-                logger.warn("StaleElementReferenceException caught (attempt {}). Retrying click for element: {}", attempts, getShortElementDescription(element));
-                PageFactory.initElements(driver, this); // Refresh elements
+                logger.warn("StaleElementReferenceException caught (attempt {}). Retrying click for element: {}", attempts, describe(element));
+                domChanged(); // Cached elements are looked up again on the next access
                 if (attempts >= 2) {
-                    logger.error("Failed to click element after retrying due to StaleElementReferenceException: {}", getShortElementDescription(element), e);
+                    logger.error("Failed to click element after retrying due to StaleElementReferenceException: {}", describe(element), e);
                     throw e;
                 }
                 try {
-                    Thread.sleep(500);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
+                    readiness.waitForPageSettled(); // Let the re-render finish before retrying
+                } catch (TimeoutException te) {
+                    logger.warn("Page did not settle before retrying click, retrying anyway.");
                 }
             } catch (ElementClickInterceptedException ecie) {
-                logger.warn("ElementClickInterceptedException caught for element: {}. Trying JavaScript click.", getShortElementDescription(element));
+                logger.warn("ElementClickInterceptedException caught for element: {}. Trying JavaScript click.", describe(element));
                 try {
                     clickElementWithJavaScript(element);
                     return; // Success with JS click
                 } catch (Exception jsException) {
-                    logger.error("JavaScript click also failed for element: {}", getShortElementDescription(element), jsException);
+                    logger.error("JavaScript click also failed for element: {}", describe(element), jsException);
                     throw ecie; // Re-throw original interception exception if JS fails
                 }
             } catch (Exception e) {
-                logger.error("Failed to click element with standard click: {}", getShortElementDescription(element), e);
+                logger.error("Failed to click element with standard click: {}", describe(element), e);
                 throw e; // Throw other exceptions immediately
             }
         }
@@ -97,10 +150,11 @@ public abstract class BasePage {
      * @param element The WebElement to click.
      */
     protected void clickElementWithJavaScript(WebElement element) {
-        String elementDesc = getShortElementDescription(element);
+        Object elementDesc = describe(element);
         logger.info("Attempting JavaScript click on element: {}", elementDesc);
         try {
             ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+            domChanged();
             logger.debug("JavaScript click successful for: {}", elementDesc);
         } catch (Exception e) {
             logger.error("JavaScript click failed for element: {}", elementDesc, e);
@@ -112,38 +166,83 @@ public abstract class BasePage {
     protected void sendKeysToElement(WebElement element, String text) {
         try {
             waitForElementToBeVisible(element);
-            logger.info("Sending keys '{}' to element: {}", text, getShortElementDescription(element));
+            logger.info("Sending keys '{}' to element: {}", text, describe(element));
             element.clear();
             element.sendKeys(text);
+            domChanged(); // Typing can trigger validation messages and autocomplete
         } catch (Exception e) {
-            logger.error("Failed to send keys '{}' to element: {}", text, getShortElementDescription(element), e);
+            logger.error("Failed to send keys '{}' to element: {}", text, describe(element), e);
             throw e;
         }
     }
 
+    /**
+     * Fills several fields at once, in the mode set by {@code -Dform.fill}.
+     *
+     * @param values The value for each field, filled in iteration order.
+     */
+    protected void fillForm(Map<By, String> values) {
+        fillForm(values, FormFiller.Mode.current());
+    }
+
+    protected void fillForm(Map<By, String> values, FormFiller.Mode mode) {
+        logger.info("Filling {} fields: {}", values.size(), values.keySet());
+        new FormFiller(this, driver).fill(values, mode);
+    }
+
     protected String getTextFromElement(WebElement element) {
         try {
             waitForElementToBeVisible(element);
             String text = element.getText();
-            logger.debug("Retrieved text '{}' from element: {}", text, getShortElementDescription(element));
+            logger.debug("Retrieved text '{}' from element: {}", text, describe(element));
             return text;
         } catch (Exception e) {
-            logger.error("Failed to get text from element: {}", getShortElementDescription(element), e);
+            logger.error("Failed to get text from element: {}", describe(element), e);
             // Return empty string instead of throwing to potentially allow checks for absence
             return "";
         }
     }
 
-    private String getShortElementDescription(WebElement element) {
-        if (element == null) return "null";
-        String id = element.getAttribute("id");
-        if (id != null && !id.isEmpty()) return "id=" + id;
-        String name = element.getAttribute("name");
-        if (name != null && !name.isEmpty()) return "name=" + name;
-        String tagName = element.getTagName();
-        String className = element.getAttribute("class");
-        if (className != null && !className.isEmpty()) return tagName + ".class='" + className.split(" ")[0] + "'";
-        String elementString = element.toString();
-        return elementString.substring(0, Math.min(elementString.length(), 80)) + "...";
+    /**
+     * Looks for several messages at once and returns as soon as one is shown, or once the page has settled
+     * without any of them. Use this instead of a visibility wait when the element may legitimately be absent.
+     *
+     * @param timeout  The longest to wait for the page to settle.
+     * @param locators The elements to look for.
+     * @return The text of every shown element, keyed in argument order; empty if none is shown.
+     */
+    protected Map<By, String> getShownTexts(Duration timeout, By... locators) {
+        return new PresenceOracle(driver).shownTexts(timeout, Arrays.asList(locators));
+    }
+
+    /**
+     * Like {@link #getShownTexts(Duration, By...)} for {@code @FindBy} elements, without touching their proxies.
+     *
+     * @return The text of the first shown element in argument order, or an empty string if none is shown.
+     */
+    protected String getFirstShownText(Duration timeout, WebElement... elements) {
+        By[] locators = new By[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            locators[i] = LocatorMetadata.locatorOf(elements[i]);
+            if (locators[i] == null) {
+                throw new IllegalArgumentException("No locator known for element: " + describe(elements[i]));
+            }
+        }
+        return getShownTexts(timeout, locators).values().stream().findFirst().orElse("");
+    }
+
+    /**
+     * Tells the locator cache that an interaction may have changed the page.
+     */
+    protected void domChanged() {
+        DomGeneration.of(driver).markDirty();
+    }
+
+    /**
+     * Describes an element for log messages from its locator. The text is only built if the message is logged,
+     * and building it makes no WebDriver calls.
+     */
+    private static Object describe(WebElement element) {
+        return LocatorMetadata.describe(element);
     }
-}
\ No newline at end of file
+}
@@ -4,9 +4,10 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class CreateAccountPage extends BasePage {
 
@@ -69,11 +70,13 @@ public class CreateAccountPage extends BasePage {
 
     public AccountPage registerUser(String firstName, String lastName, String email, String password) {
         logger.info("Attempting to register user: {} {} ({})", firstName, lastName, email);
-        enterFirstName(firstName);
-        enterLastName(lastName);
-        enterEmail(email);
-        enterPassword(password);
-        enterConfirmPassword(password);
+        Map<By, String> values = new LinkedHashMap<>();
+        values.put(LocatorMetadata.locatorOf(firstNameInput), firstName);
+        values.put(LocatorMetadata.locatorOf(lastNameInput), lastName);
+        values.put(LocatorMetadata.locatorOf(emailInput), email);
+        values.put(LocatorMetadata.locatorOf(passwordInput), password);
+        values.put(LocatorMetadata.locatorOf(confirmPasswordInput), password);
+        fillForm(values);
         clickCreateAccountButton();
         return new AccountPage(driver);
     }
@@ -81,29 +84,38 @@ public class CreateAccountPage extends BasePage {
     // --- Getters for Verification ---
 
     public String getFieldErrorText(String fieldName) {
-        By locator = By.id(fieldName + "-error");
-        try {
-            WebElement errorElement = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-            String errorText = errorElement.getText();
-            logger.debug("Found error for field '{}': {}", fieldName, errorText);
-            return errorText;
-        } catch (Exception e) {
-            logger.warn("Error element not found or not visible for field ID: {}-error", fieldName);
-            return "";
+        return getFieldErrorTexts(fieldName).get(fieldName);
+    }
+
+    /**
+     * Reads the validation errors of several fields in one look.
+     *
+     * @param fieldNames Field IDs, e.g. "firstname"; each error is shown in the element "{id}-error".
+     * @return The error text per field, in argument order; an empty string for fields without an error.
+     */
+    public Map<String, String> getFieldErrorTexts(String... fieldNames) {
+        By[] locators = new By[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            locators[i] = By.id(fieldNames[i] + "-error");
+        }
+        Map<By, String> shown = getShownTexts(TIMEOUT, locators);
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (int i = 0; i < fieldNames.length; i++) {
+            errors.put(fieldNames[i], shown.getOrDefault(locators[i], ""));
         }
+        logger.debug("Field errors: {}", errors);
+        return errors;
     }
 
     public String getGeneralErrorText() {
-        try {
-            // General errors might take a moment to appear after submission
-            wait.withTimeout(Duration.ofSeconds(5)).until(ExpectedConditions.visibilityOf(generalErrorMessage));
-            String errorText = getTextFromElement(generalErrorMessage);
+        // General errors appear after the submission round trip, which the presence check waits out
+        String errorText = getFirstShownText(Duration.ofSeconds(5), generalErrorMessage);
+        if (errorText.isEmpty()) {
+            logger.warn("General error message not shown after the page settled.");
+        } else {
             logger.debug("Found general error message: {}", errorText);
-            return errorText;
-        } catch (Exception e) { // Catch timeout or no such element
-            logger.warn("General error message element not found or timed out.");
-            return "";
         }
+        return errorText;
     }
 
     public String getPageTitle() {
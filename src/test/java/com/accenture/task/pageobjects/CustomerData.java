@@ -0,0 +1,223 @@
+package com.accenture.task.pageobjects;
+
+import com.accenture.task.utils.TestUtils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads Magento's customer-data sections from localStorage ({@code mage-cache-storage}). The storefront writes a
+ * section there before Knockout re-renders the header and minicart from it, so the cart count, subtotal and lines
+ * are available without touching the rendered DOM, and waits can resolve on the section update itself.
+ */
+public class CustomerData {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerData.class);
+    private static final String STORAGE_KEY = "mage-cache-storage";
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern HTML_ENTITY = Pattern.compile("&(#x[0-9a-fA-F]+|#[0-9]+|amp|lt|gt|quot|apos|nbsp);");
+
+    private static final String READ_CART_SCRIPT = """
+            try {
+                var cart = JSON.parse(window.localStorage.getItem(arguments[0]) || '{}').cart;
+                return cart ? cart : null;
+            } catch (e) {
+                return null;
+            }
+            """;
+
+    /**
+     * Resolves with {status: 'match' | 'timeout' | 'unavailable', count}. Listens for writes to the storage key
+     * (and for Magento's customer-data cart observable when RequireJS has it), and also polls every 250 ms in case
+     * the section is written some other way.
+     */
+    private static final String WAIT_FOR_CART_COUNT_SCRIPT = """
+            var key = arguments[0], expected = arguments[1], timeoutMs = arguments[2];
+            var done = arguments[arguments.length - 1];
+            var finished = false, poller, timer, subscription;
+            function count() {
+                try {
+                    var cart = JSON.parse(window.localStorage.getItem(key) || '{}').cart;
+                    return cart ? (cart.summary_count || 0) : null;
+                } catch (e) {
+                    return null;
+                }
+            }
+            function finish(status) {
+                if (finished) return;
+                finished = true;
+                clearInterval(poller);
+                clearTimeout(timer);
+                window.removeEventListener('e2e-customer-data', check);
+                if (subscription) subscription.dispose();
+                // Let the synchronous re-render triggered by the same update finish first
+                setTimeout(function () { done({status: status, count: count()}); }, 0);
+            }
+            function check() {
+                if (count() === expected) finish('match');
+            }
+            if (window.localStorage.getItem(key) === null && !window.require) {
+                done({status: 'unavailable', count: null});
+                return;
+            }
+            if (!window.__e2eStorageHook) {
+                var setItem = Storage.prototype.setItem;
+                Storage.prototype.setItem = function (name) {
+                    setItem.apply(this, arguments);
+                    if (name === key) window.dispatchEvent(new Event('e2e-customer-data'));
+                };
+                window.__e2eStorageHook = true;
+            }
+            window.addEventListener('e2e-customer-data', check);
+            if (window.require && window.require.defined && window.require.defined('Magento_Customer/js/customer-data')) {
+                subscription = window.require('Magento_Customer/js/customer-data').get('cart').subscribe(check);
+            }
+            poller = setInterval(check, 250);
+            timer = setTimeout(function () { finish('timeout'); }, timeoutMs);
+            check();
+            """;
+
+    private final WebDriver driver;
+
+    public CustomerData(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * @return The cart section, or empty if the storefront has not stored one (yet).
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<CartSection> readCart() {
+        Object raw = js().executeScript(READ_CART_SCRIPT, STORAGE_KEY);
+        if (!(raw instanceof Map)) {
+            return Optional.empty();
+        }
+        Map<String, Object> cart = (Map<String, Object>) raw;
+        List<CartLine> lines = new ArrayList<>();
+        Object items = cart.get("items");
+        if (items instanceof List) {
+            for (Map<String, Object> item : (List<Map<String, Object>>) items) {
+                // Magento stores the name HTML-escaped; decode it so it matches the text rendered in the minicart
+                lines.add(new CartLine(decodeHtml(String.valueOf(item.get("product_name"))), amount(item.get("product_price_value")), (int) amount(item.get("qty"))));
+            }
+        }
+        // "subtotal" is the price markup rendered in the store's currency, e.g. <span class="price">$45.00</span>
+        Object subtotalHtml = cart.get("subtotal");
+        String subtotalText = subtotalHtml instanceof String ? decodeHtml(HTML_TAG.matcher((String) subtotalHtml).replaceAll("")).trim() : null;
+        return Optional.of(new CartSection((int) amount(cart.get("summary_count")), amount(cart.get("subtotalAmount")), subtotalText, lines));
+    }
+
+    /**
+     * Waits until the cart section reports the expected item count.
+     *
+     * @return The outcome; {@link WaitResult#UNAVAILABLE} means the page keeps no customer data and the caller
+     * has to fall back to the rendered DOM.
+     */
+    public WaitResult waitForCartCount(int expectedCount, Duration timeout) {
+        long start = System.nanoTime();
+        Object raw = PageReadiness.executeAsyncScript(driver, timeout.plusSeconds(5), WAIT_FOR_CART_COUNT_SCRIPT, STORAGE_KEY, expectedCount, timeout.toMillis());
+        String status = raw instanceof Map ? String.valueOf(((Map<?, ?>) raw).get("status")) : "unavailable";
+        WaitResult result = switch (status) {
+            case "match" -> WaitResult.MATCHED;
+            case "timeout" -> WaitResult.TIMED_OUT;
+            default -> WaitResult.UNAVAILABLE;
+        };
+        logger.info("Wait for cart section count {} ended with {} after {} ms.", expectedCount, result, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return result;
+    }
+
+    private JavascriptExecutor js() {
+        return (JavascriptExecutor) driver;
+    }
+
+    /**
+     * Decodes the entities Magento's escaper produces, e.g. "&amp;amp;" and "&amp;#039;".
+     */
+    static String decodeHtml(String text) {
+        if (text.indexOf('&') < 0) {
+            return text;
+        }
+        return HTML_ENTITY.matcher(text).replaceAll(match -> {
+            String entity = match.group(1);
+            String decoded = switch (entity) {
+                case "amp" -> "&";
+                case "lt" -> "<";
+                case "gt" -> ">";
+                case "quot" -> "\"";
+                case "apos" -> "'";
+                case "nbsp" -> "\u00a0";
+                default -> new String(Character.toChars(entity.startsWith("#x") ? Integer.parseInt(entity.substring(2), 16) : Integer.parseInt(entity.substring(1))));
+            };
+            return Matcher.quoteReplacement(decoded);
+        });
+    }
+
+    private static double amount(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Map) {
+            // Prices with tax display settings come as {incl_tax: ..., excl_tax: ...}
+            Object inclTax = ((Map<?, ?>) value).get("incl_tax");
+            return amount(inclTax != null ? inclTax : ((Map<?, ?>) value).get("excl_tax"));
+        }
+        if (value instanceof String && !((String) value).isBlank()) {
+            return TestUtils.extractPrice((String) value);
+        }
+        return 0;
+    }
+
+    public enum WaitResult {
+        MATCHED, TIMED_OUT, UNAVAILABLE
+    }
+
+    /**
+     * The cart section: total item quantity, subtotal and lines. {@code subtotalText} is the subtotal as the
+     * store renders it in its currency, e.g. "$45.00", or null if it is not available.
+     */
+    public static class CartSection {
+        public final int summaryCount;
+        public final double subtotal;
+        public final String subtotalText;
+        public final List<CartLine> lines;
+
+        public CartSection(int summaryCount, double subtotal, String subtotalText, List<CartLine> lines) {
+            this.summaryCount = summaryCount;
+            this.subtotal = subtotal;
+            this.subtotalText = subtotalText;
+            this.lines = List.copyOf(lines);
+        }
+
+        @Override
+        public String toString() {
+            return "CartSection{" + "summaryCount=" + summaryCount + ", subtotal=" + subtotal + ", subtotalText='" + subtotalText + '\'' + ", lines=" + lines + '}';
+        }
+    }
+
+    public static class CartLine {
+        public final String name;
+        public final double price;
+        public final int quantity;
+
+        public CartLine(String name, double price, int quantity) {
+            this.name = name;
+            this.price = price;
+            this.quantity = quantity;
+        }
+
+        @Override
+        public String toString() {
+            return "CartLine{" + "name='" + name + '\'' + ", price=" + price + ", quantity=" + quantity + '}';
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.accenture.task.pageobjects;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+/**
+ * Tracks whether the DOM of a browser may have changed since elements were looked up. The page carries a marker:
+ * a per-document id plus a counter a MutationObserver bumps whenever nodes are added or removed, so a new
+ * document or a re-render yields a new token. Reading the token costs a script call, so the Java side keeps an
+ * epoch that interactions, readiness waits and stale elements bump: within an epoch cached elements are trusted,
+ * and the token is read at most once per epoch to revalidate them.
+ */
+final class DomGeneration {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomGeneration.class);
+    private static final Map<WebDriver, DomGeneration> GENERATIONS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final String TOKEN_SCRIPT = """
+            var gen = window.__e2eDomGeneration;
+            if (!gen) {
+                gen = window.__e2eDomGeneration = {doc: Math.random().toString(36).slice(2), value: 0};
+                new MutationObserver(function () { gen.value++; })
+                    .observe(document, {childList: true, subtree: true});
+            }
+            return gen.doc + ':' + gen.value;
+            """;
+
+    private final WebDriver driver;
+    // Bumped on every possible change; a token read is valid for the epoch it was read in
+    private long epoch;
+    private long tokenEpoch = -1;
+    private String token;
+
+    private DomGeneration(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    static DomGeneration of(WebDriver driver) {
+        return GENERATIONS.computeIfAbsent(driver, DomGeneration::new);
+    }
+
+    /**
+     * Marks the DOM as possibly changed; cached elements have to be revalidated.
+     */
+    void markDirty() {
+        epoch++;
+    }
+
+    /**
+     * @return Counter of {@link #markDirty()} calls; nothing is known to have changed while it stays the same.
+     */
+    long epoch() {
+        return epoch;
+    }
+
+    /**
+     * @return The page token if it was already read in the current epoch, otherwise null. Makes no WebDriver call.
+     */
+    String knownToken() {
+        return tokenEpoch == epoch ? token : null;
+    }
+
+    /**
+     * @return The page token, read with one script call at most once per epoch.
+     */
+    String readToken() {
+        if (tokenEpoch != epoch) {
+            try {
+                token = String.valueOf(((JavascriptExecutor) driver).executeScript(TOKEN_SCRIPT));
+            } catch (WebDriverException e) {
+                // Without a readable marker nothing cached can be trusted
+                logger.debug("Could not read the DOM generation marker.", e);
+                token = UUID.randomUUID().toString();
+            }
+            tokenEpoch = epoch;
+        }
+        return token;
+    }
+}
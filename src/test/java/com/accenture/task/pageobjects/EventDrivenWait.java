@@ -0,0 +1,151 @@
+package com.accenture.task.pageobjects;
+
+import com.accenture.task.utils.SuiteThroughputReporter;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link WebDriverWait} that re-checks its condition as soon as the page changes instead of on a fixed
+ * polling interval. Between two checks it runs one async script that resolves on the next DOM mutation or
+ * finished network request (observed in the page with a MutationObserver and a resource PerformanceObserver),
+ * or when the polling interval runs out. Re-checks are at least {@value #MIN_RECHECK_MS} ms apart, so pages that
+ * animate (minicart slide, carousels) coalesce their changes instead of waking the wait on every frame. When the
+ * script cannot run it falls back to plain sleeping.
+ * Disabled with {@code -Dpage.eventWaits=false}.
+ */
+public class EventDrivenWait extends WebDriverWait {
+
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("page.eventWaits", "true"));
+
+    private static final Logger logger = LoggerFactory.getLogger(EventDrivenWait.class);
+    private static final Duration MAX_INTERVAL = Duration.ofMillis(500);
+    private static final long MIN_RECHECK_MS = 100;
+    private static final int MAX_SCRIPT_FAILURES = 3;
+    private static final AtomicLong EVENT_WAKEUPS = new AtomicLong();
+    private static final AtomicLong INTERVAL_WAKEUPS = new AtomicLong();
+    private static final AtomicLong FALLBACK_SLEEPS = new AtomicLong();
+
+    static {
+        SuiteThroughputReporter.addSummary("event-driven waits", () -> logger.info("Event-driven waits re-checked {} times on a page change, {} times on the interval, {} times after a plain sleep.", EVENT_WAKEUPS.get(), INTERVAL_WAKEUPS.get(), FALLBACK_SLEEPS.get()));
+    }
+
+    /**
+     * Installs the observers once per document and resolves with the change token once it differs from
+     * {@code arguments[0]}, or with the unchanged token after {@code arguments[1]} ms. A token from an
+     * older document never matches, so a navigation also resolves right away. Never resolves before
+     * {@code arguments[2]} ms; changes in the meantime are folded into one wake-up.
+     */
+    private static final String NEXT_CHANGE_SCRIPT = """
+            var lastSeen = arguments[0], maxMs = arguments[1], minMs = arguments[2], done = arguments[arguments.length - 1];
+            var started = Date.now();
+            var signal = window.__e2eChangeSignal;
+            if (!signal) {
+                signal = window.__e2eChangeSignal = {doc: Math.random().toString(36).slice(2), seq: 0, listeners: []};
+                var bump = function () {
+                    signal.seq++;
+                    var listeners = signal.listeners;
+                    signal.listeners = [];
+                    for (var i = 0; i < listeners.length; i++) listeners[i]();
+                };
+                new MutationObserver(bump).observe(document, {childList: true, subtree: true, attributes: true, characterData: true});
+                if (window.PerformanceObserver) {
+                    try { new PerformanceObserver(bump).observe({type: 'resource'}); } catch (e) { }
+                }
+            }
+            function token() { return signal.doc + ':' + signal.seq; }
+            function resolve() {
+                // Let the rest of the mutation batch, and anything else before minMs, land before the next check
+                setTimeout(function () { done(token()); }, Math.max(0, minMs - (Date.now() - started)));
+            }
+            if (lastSeen !== null && lastSeen !== token()) { resolve(); return; }
+            var finished = false;
+            function finish() {
+                if (finished) return;
+                finished = true;
+                clearTimeout(timer);
+                resolve();
+            }
+            var timer = setTimeout(finish, maxMs);
+            signal.listeners.push(finish);
+            """;
+
+    public EventDrivenWait(WebDriver driver, Duration timeout) {
+        this(driver, timeout, MAX_INTERVAL);
+    }
+
+    /**
+     * @param interval The longest time between two checks when the page does not change.
+     */
+    public EventDrivenWait(WebDriver driver, Duration timeout, Duration interval) {
+        super(driver, timeout, interval, Clock.systemDefaultZone(), new ChangeSleeper(driver));
+    }
+
+    /**
+     * @return An event-driven wait, or a plain polling {@link WebDriverWait} when event waits are disabled.
+     */
+    public static WebDriverWait create(WebDriver driver, Duration timeout) {
+        return create(driver, timeout, MAX_INTERVAL);
+    }
+
+    public static WebDriverWait create(WebDriver driver, Duration timeout, Duration interval) {
+        return ENABLED ? new EventDrivenWait(driver, timeout, interval) : new WebDriverWait(driver, timeout, interval);
+    }
+
+    /**
+     * Sleeps until the next page change or the end of the interval, whichever comes first.
+     */
+    private static final class ChangeSleeper implements Sleeper {
+        private final WebDriver driver;
+        private String lastSeen;
+        private int failures;
+        private long lastWakeNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(MIN_RECHECK_MS);
+
+        ChangeSleeper(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        @Override
+        public void sleep(Duration duration) throws InterruptedException {
+            if (failures >= MAX_SCRIPT_FAILURES || !(driver instanceof JavascriptExecutor)) {
+                FALLBACK_SLEEPS.incrementAndGet();
+                Sleeper.SYSTEM_SLEEPER.sleep(duration);
+                return;
+            }
+            long start = System.nanoTime();
+            // The condition check since the last wake-up counts towards the minimum spacing
+            long minMs = Math.min(duration.toMillis(), Math.max(0, MIN_RECHECK_MS - TimeUnit.NANOSECONDS.toMillis(start - lastWakeNanos)));
+            try {
+                Object token = ((JavascriptExecutor) driver).executeAsyncScript(NEXT_CHANGE_SCRIPT, lastSeen, duration.toMillis(), minMs);
+                failures = 0;
+                if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < duration.toMillis()) {
+                    EVENT_WAKEUPS.incrementAndGet();
+                } else {
+                    INTERVAL_WAKEUPS.incrementAndGet();
+                }
+                lastSeen = token == null ? null : token.toString();
+            } catch (WebDriverException e) {
+                // Usually a navigation that unloaded the script; sleep out the rest of the interval
+                failures++;
+                logger.debug("Change script failed ({} in a row), sleeping instead.", failures, e);
+                lastSeen = null;
+                FALLBACK_SLEEPS.incrementAndGet();
+                long remaining = duration.toMillis() - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                if (remaining > 0) {
+                    Thread.sleep(remaining);
+                }
+            } finally {
+                lastWakeNanos = System.nanoTime();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.accenture.task.pageobjects;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills several form fields at once. In {@link Mode#SCRIPT} mode one script sets every value through the
+ * native value setter and dispatches the input and change events that Magento's validation and Knockout
+ * bindings listen to; fields the script cannot fill (missing, hidden or disabled) are typed instead. In
+ * {@link Mode#KEYSTROKES} mode every field is cleared and typed like a user would. The default mode is set
+ * with {@code -Dform.fill=script|keystrokes}.
+ */
+public final class FormFiller {
+
+    /**
+     * How field values are entered.
+     */
+    public enum Mode {
+        /**
+         * All values set by one script call.
+         */
+        SCRIPT,
+        /**
+         * Every value typed with sendKeys, for tests that depend on real key events.
+         */
+        KEYSTROKES;
+
+        public static Mode current() {
+            return valueOf(System.getProperty("form.fill", "script").toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(FormFiller.class);
+
+    /**
+     * Sets the values of [strategy, value, text] triples and returns the indexes of the fields it could not fill.
+     */
+    private static final String FILL_SCRIPT = """
+            var fields = arguments[0], skipped = [];
+            %s
+            function setterFor(el) {
+                var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype
+                    : el instanceof HTMLSelectElement ? HTMLSelectElement.prototype : HTMLInputElement.prototype;
+                return Object.getOwnPropertyDescriptor(proto, 'value').set;
+            }
+            for (var i = 0; i < fields.length; i++) {
+                var el = findElements(fields[i][0], fields[i][1])[0];
+                if (!el || el.disabled || el.readOnly || !el.getClientRects().length) { skipped.push(i); continue; }
+                el.focus();
+                // The native setter keeps frameworks that wrap the value property in sync
+                setterFor(el).call(el, fields[i][2]);
+                el.dispatchEvent(new Event('input', {bubbles: true}));
+                el.dispatchEvent(new Event('change', {bubbles: true}));
+            }
+            if (document.activeElement && document.activeElement.blur) document.activeElement.blur();
+            return skipped;
+            """.formatted(LocatorMetadata.FIND_ELEMENTS_SCRIPT);
+
+    private final BasePage page;
+    private final WebDriver driver;
+
+    FormFiller(BasePage page, WebDriver driver) {
+        this.page = page;
+        this.driver = driver;
+    }
+
+    /**
+     * @param values The value for each field, filled in iteration order.
+     * @param mode   How the values are entered.
+     */
+    void fill(Map<By, String> values, Mode mode) {
+        long start = System.nanoTime();
+        List<By> locators = new ArrayList<>(values.keySet());
+        List<By> toType = locators;
+        if (mode == Mode.SCRIPT) {
+            List<List<String>> fields = new ArrayList<>();
+            for (By locator : locators) {
+                List<String> field = new ArrayList<>(LocatorMetadata.strategyAndValue(locator));
+                field.add(values.get(locator));
+                fields.add(field);
+            }
+            List<?> skipped = (List<?>) ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, fields);
+            toType = new ArrayList<>();
+            for (Object index : skipped) {
+                toType.add(locators.get(((Number) index).intValue()));
+            }
+            if (!toType.isEmpty()) {
+                logger.info("Could not fill {} by script, typing them instead.", toType);
+            }
+        }
+        page.domChanged();
+        for (By locator : toType) {
+            WebElement field = page.waitUntil("fill " + locator, BasePage.TIMEOUT, ExpectedConditions.visibilityOfElementLocated(locator));
+            page.sendKeysToElement(field, values.get(locator));
+        }
+        logger.info("Filled {} fields ({} typed) in {} ms.", locators.size(), toType.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
@@ -1,16 +1,46 @@
 package com.accenture.task.pageobjects;
 
+import com.accenture.task.utils.TestUtils;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class HeaderPage extends BasePage {
 
+    /**
+     * Reads everything the header methods need in one round trip; "visible" mirrors WebElement.isDisplayed().
+     */
+    private static final String HEADER_STATE_SCRIPT = """
+            function visible(el) {
+                if (!el || !(el.offsetWidth || el.offsetHeight || el.getClientRects().length)) return false;
+                return window.getComputedStyle(el).visibility !== 'hidden';
+            }
+            var welcome = document.querySelector('.greet.welcome .logged-in');
+            var toggle = document.querySelector('.customer-welcome button.switch');
+            var notLoggedIn = document.querySelector('.greet.welcome .not-logged-in');
+            var counter = document.querySelector('a.action.showcart .counter.qty');
+            var number = document.querySelector('.counter.qty .counter-number');
+            var wrapper = document.querySelector('.minicart-wrapper');
+            var loggedIn = welcome && (visible(welcome) || toggle)
+                ? visible(welcome) || visible(toggle)
+                : !!notLoggedIn && !visible(notLoggedIn);
+            return {
+                loggedIn: loggedIn,
+                welcomeText: visible(welcome) ? welcome.innerText.trim() : '',
+                cartCountText: visible(number) ? number.innerText.trim() : '',
+                cartEmpty: !!counter && counter.classList.contains('empty'),
+                minicartActive: !!wrapper && wrapper.classList.contains('active')
+            };
+            """;
+
     // Locator for the empty class on the parent span
     private final By cartCounterEmptyClassLocator = By.cssSelector("a.action.showcart .counter.qty.empty");
 
@@ -21,8 +51,6 @@ public class HeaderPage extends BasePage {
 
     @FindBy(css = ".greet.welcome .logged-in")
     private WebElement welcomeMessageLoggedIn;
-    @FindBy(css = ".greet.welcome .not-logged-in")
-    private WebElement notLoggedInSpan;
 
     @FindBy(css = "a.action.showcart")
     private WebElement cartIcon;
@@ -30,8 +58,6 @@ public class HeaderPage extends BasePage {
     private WebElement cartCounterParentSpan;
     @FindBy(css = ".counter.qty .counter-number")
     private WebElement cartCounterNumber;
-    @FindBy(css = ".minicart-wrapper")
-    private WebElement minicartWrapper;
 
     @FindBy(css = "#top-cart-btn-checkout")
     private WebElement proceedToCheckoutButton;
@@ -66,10 +92,54 @@ public class HeaderPage extends BasePage {
     @FindBy(linkText = "Sign Out")
     private WebElement signOutLink;
 
+    private static final String MINICART_DOM_SCRIPT = """
+            function text(root, selector) {
+                var el = root.querySelector(selector);
+                return el ? el.textContent.trim() : null;
+            }
+            var rows = document.querySelectorAll('#mini-cart .product-item');
+            var items = [];
+            for (var i = 0; i < rows.length; i++) {
+                var qty = rows[i].querySelector('.cart-item-qty');
+                items.push({
+                    name: text(rows[i], '.product-item-name a'),
+                    price: text(rows[i], '.minicart-price .price'),
+                    qty: qty ? parseInt(qty.value || qty.getAttribute('data-item-qty'), 10) || 0 : 0
+                });
+            }
+            return {items: items, subtotal: text(document, '.block-minicart .subtotal .price')};
+            """;
+
+    private HeaderState state;
+    private long stateEpoch;
+
     public HeaderPage(WebDriver driver) {
         super(driver);
     }
 
+    /**
+     * Returns the last header snapshot, re-reading it only if an interaction or wait may have changed the page
+     * since it was taken.
+     */
+    public HeaderState getState() {
+        if (state == null || stateEpoch != DomGeneration.of(driver).epoch()) {
+            return refreshState();
+        }
+        return state;
+    }
+
+    /**
+     * Reads a fresh snapshot of the header in one script call.
+     */
+    @SuppressWarnings("unchecked")
+    public HeaderState refreshState() {
+        Map<String, Object> raw = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(HEADER_STATE_SCRIPT);
+        state = new HeaderState(Boolean.TRUE.equals(raw.get("loggedIn")), (String) raw.get("welcomeText"), (String) raw.get("cartCountText"), Boolean.TRUE.equals(raw.get("cartEmpty")), Boolean.TRUE.equals(raw.get("minicartActive")));
+        stateEpoch = DomGeneration.of(driver).epoch();
+        logger.debug("Header state: {}", state);
+        return state;
+    }
+
     public SignInPage clickSignIn() {
         logger.info("Clicking Sign In link");
         clickElement(signInLink);
@@ -87,11 +157,11 @@ public class HeaderPage extends BasePage {
         waitForElementToBeClickable(cartIcon);
         clickElement(cartIcon);
         try {
-            wait.until(ExpectedConditions.or(ExpectedConditions.visibilityOf(proceedToCheckoutButton), ExpectedConditions.visibilityOfElementLocated(By.cssSelector("#mini-cart .minicart-items"))));
+            waitUntil("expandCart", TIMEOUT, ExpectedConditions.or(ExpectedConditions.visibilityOf(proceedToCheckoutButton), ExpectedConditions.visibilityOfElementLocated(By.cssSelector("#mini-cart .minicart-items"))));
             logger.info("Cart expanded (checkout button or items visible)");
         } catch (Exception e) {
             try {
-                wait.withTimeout(Duration.ofSeconds(3)).until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".minicart-items-wrapper .subtitle.empty")));
+                waitUntil("expandCart empty", Duration.ofSeconds(3), ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".minicart-items-wrapper .subtitle.empty")));
                 logger.info("Cart expanded (empty message visible).");
             } catch (Exception ex) {
                 logger.error("Failed to confirm cart expansion.", ex);
@@ -102,11 +172,7 @@ public class HeaderPage extends BasePage {
     public ProductListPage searchFor(String term) {
         logger.info("Searching for term: '{}'", term);
         sendKeysToElement(searchInput, term);
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        readiness.waitForMagentoIdle(); // Search autocomplete fires an AJAX request while typing
         waitForElementToBeClickable(searchButton);
         clickElement(searchButton);
         logger.info("Search submitted for '{}'", term);
@@ -129,63 +195,43 @@ public class HeaderPage extends BasePage {
     }
 
     public String getWelcomeMessage() {
-        try {
-            waitForElementToBeVisible(welcomeMessageLoggedIn);
-            return getTextFromElement(welcomeMessageLoggedIn);
-        } catch (NoSuchElementException e) {
-            logger.warn("Welcome message (logged-in) not found.");
-            return "";
+        String message = getFirstShownText(TIMEOUT, welcomeMessageLoggedIn);
+        if (message.isEmpty()) {
+            logger.warn("Welcome message (logged-in) not shown after the page settled.");
         }
+        return message;
     }
 
     public boolean isUserLoggedIn() {
-        try {
-            return welcomeMessageLoggedIn.isDisplayed() || customerWelcomeToggle.isDisplayed();
-        } catch (NoSuchElementException e) {
-            try {
-                return !notLoggedInSpan.isDisplayed();
-            } catch (NoSuchElementException innerE) {
-                logger.warn("Could not reliably determine login status - relevant elements not found.");
-                return false;
-            }
-        }
+        return getState().loggedIn;
     }
 
     public int getCartCount() {
-        try {
-            if (!driver.findElements(cartCounterEmptyClassLocator).isEmpty()) {
-                logger.info("Cart counter has 'empty' class, returning 0.");
+        HeaderState current = getState();
+        if (current.cartEmpty) {
+            logger.info("Cart counter has 'empty' class, returning 0.");
+            return 0;
+        }
+        if (current.cartCountText.isEmpty()) {
+            logger.warn("Cart count is not rendered yet. Re-checking...");
+            try {
+                current = EventDrivenWait.create(driver, Duration.ofSeconds(3)).until(d -> {
+                    HeaderState refreshed = refreshState();
+                    return refreshed.cartEmpty || !refreshed.cartCountText.isEmpty() ? refreshed : null;
+                });
+            } catch (TimeoutException te) {
+                logger.error("Cart count text remained empty after extra wait.");
                 return 0;
             }
-            waitForElementToBeVisible(cartCounterNumber);
-            String countText = getTextFromElement(cartCounterNumber).trim();
-            if (countText.isEmpty()) {
-                logger.warn("Cart count element is visible but empty. Re-checking...");
-                try {
-                    wait.withTimeout(Duration.ofSeconds(3)).until(ExpectedConditions.not(ExpectedConditions.textToBePresentInElement(cartCounterNumber, "")));
-                    countText = getTextFromElement(cartCounterNumber).trim();
-                    logger.info("Re-checked cart count text: '{}'", countText);
-                    if (countText.isEmpty()) return 0; // Still empty after wait
-                } catch (TimeoutException te) {
-                    logger.error("Cart count text remained empty after extra wait.");
-                    return 0;
-                }
-            }
-            return Integer.parseInt(countText);
-        } catch (NumberFormatException e) {
-            logger.error("Could not parse cart count text: '{}'", getTextFromElement(cartCounterNumber), e);
-            return -1;
-        } catch (NoSuchElementException e) {
-            logger.info("Cart counter number element not found, assuming cart is empty.");
-            return 0;
-        } catch (Exception e) {
-            logger.error("Unexpected error getting cart count.", e);
-            return -1;
+            logger.info("Re-checked cart count text: '{}'", current.cartCountText);
         }
+        return current.cartCount();
     }
 
     /**
-     * Explicitly waits for the cart counter number to display the expected count.
+     * Waits for the cart to hold the expected number of items. Resolves on the customer-data cart section update,
+     * which lands before the header re-renders; falls back to polling the rendered counter on pages without
+     * customer data.
      * THIS METHOD IS PUBLIC as it needs to be called from the test class.
      *
      * @param expectedCount    The number of items expected in the cart.
@@ -193,7 +239,23 @@ public class HeaderPage extends BasePage {
      */
     public void waitForCartCountToBe(int expectedCount, int timeoutInSeconds) {
         logger.info("Waiting for cart count to become {} (max {} seconds)...", expectedCount, timeoutInSeconds);
-        WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+        CustomerData.WaitResult result = new CustomerData(driver).waitForCartCount(expectedCount, Duration.ofSeconds(timeoutInSeconds));
+        domChanged(); // The header re-renders from the section update
+        if (result == CustomerData.WaitResult.MATCHED) {
+            logger.info("Cart count successfully updated to {}.", expectedCount);
+            return;
+        }
+        if (result == CustomerData.WaitResult.TIMED_OUT) {
+            String message = "Timeout waiting for cart count to become " + expectedCount + ". Current count: " + getCartCount();
+            logger.error(message);
+            throw new TimeoutException(message); // Re-throw timeout so the test knows waiting failed
+        }
+        logger.info("No customer data on this page, polling the rendered cart counter.");
+        waitForRenderedCartCountToBe(expectedCount, timeoutInSeconds);
+    }
+
+    private void waitForRenderedCartCountToBe(int expectedCount, int timeoutInSeconds) {
+        WebDriverWait customWait = EventDrivenWait.create(driver, Duration.ofSeconds(timeoutInSeconds));
         try {
             if (expectedCount == 0) {
                 customWait.until(ExpectedConditions.or(ExpectedConditions.presenceOfElementLocated(cartCounterEmptyClassLocator), ExpectedConditions.invisibilityOfElementLocated(By.cssSelector(".counter.qty .counter-number"))));
@@ -211,8 +273,6 @@ public class HeaderPage extends BasePage {
             } catch (Exception ignored) {
             }
             logger.error("Timeout waiting for cart count to become {}. Current count: {}", expectedCount, currentCount, e);
-            // Assertion error is better handled in the test itself after calling this wait
-            // fail("Timeout waiting for cart count to update to " + expectedCount);
             throw e; // Re-throw timeout so the test knows waiting failed
         } catch (Exception e) {
             logger.error("Unexpected error while waiting for cart count to be {}.", expectedCount, e);
@@ -220,7 +280,53 @@ public class HeaderPage extends BasePage {
         }
     }
 
+    /**
+     * Reads the minicart lines and subtotal without opening the panel: from the customer-data cart section,
+     * or from the minicart markup (rendered even while the panel is hidden) on pages without customer data.
+     */
+    @SuppressWarnings("unchecked")
+    public CustomerData.CartSection getMinicartContents() {
+        Optional<CustomerData.CartSection> section = new CustomerData(driver).readCart();
+        if (section.isPresent()) {
+            logger.debug("Minicart contents from customer data: {}", section.get());
+            return section.get();
+        }
+        Map<String, Object> raw = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(MINICART_DOM_SCRIPT);
+        List<CustomerData.CartLine> lines = new ArrayList<>();
+        int count = 0;
+        for (Map<String, Object> item : (List<Map<String, Object>>) raw.get("items")) {
+            int qty = ((Number) item.get("qty")).intValue();
+            lines.add(new CustomerData.CartLine((String) item.get("name"), TestUtils.extractPrice((String) item.get("price")), qty));
+            count += qty;
+        }
+        String subtotalText = (String) raw.get("subtotal");
+        CustomerData.CartSection fromDom = new CustomerData.CartSection(count, subtotalText == null ? 0.0 : TestUtils.extractPrice(subtotalText), subtotalText, lines);
+        logger.debug("Minicart contents from hidden minicart markup: {}", fromDom);
+        return fromDom;
+    }
+
+    /**
+     * @return The subtotal as the store renders it, e.g. "$45.00". Read from the expanded panel if neither
+     * the cart section nor the minicart markup has it.
+     */
     public String getCartSubtotal() {
+        String subtotal = getMinicartContents().subtotalText;
+        if (subtotal != null) {
+            return subtotal;
+        }
+        logger.debug("No rendered subtotal without opening the minicart, reading it from the panel.");
+        return getCartSubtotalFromPanel();
+    }
+
+    public List<String> getCartItemProductTitles() {
+        return getMinicartContents().lines.stream().map(line -> line.name).collect(Collectors.toList());
+    }
+
+    /**
+     * Reads the subtotal from the expanded minicart panel. Only for tests that check the panel UI itself;
+     * {@link #getCartSubtotal()} reads the same value without opening it.
+     */
+    public String getCartSubtotalFromPanel() {
         expandCartIfNeeded();
         try {
             waitForElementToBeVisible(cartSubtotalPrice);
@@ -231,7 +337,10 @@ public class HeaderPage extends BasePage {
         }
     }
 
-    public List<String> getCartItemProductTitles() {
+    /**
+     * Reads the item names from the expanded minicart panel. Only for tests that check the panel UI itself.
+     */
+    public List<String> getCartItemProductTitlesFromPanel() {
         expandCartIfNeeded();
         try {
             if (getCartCount() > 0) {
@@ -248,7 +357,7 @@ public class HeaderPage extends BasePage {
     }
 
     private void expandCartIfNeeded() {
-        boolean isActive = minicartWrapper.getAttribute("class").contains("active");
+        boolean isActive = getState().minicartActive;
         logger.debug("Checking if cart needs expansion. Active class present: {}", isActive);
         if (!isActive) {
             logger.debug("Cart not expanded based on class, clicking icon.");
@@ -256,7 +365,7 @@ public class HeaderPage extends BasePage {
         } else {
             try {
                 // Check if content (items or empty message) is visible
-                wait.withTimeout(Duration.ofSeconds(5)).until(ExpectedConditions.or(ExpectedConditions.visibilityOfElementLocated(By.cssSelector("#mini-cart .product-item-details")), ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".minicart-items-wrapper .subtitle.empty"))));
+                waitUntil("expandCartIfNeeded content", Duration.ofSeconds(5), ExpectedConditions.or(ExpectedConditions.visibilityOfElementLocated(By.cssSelector("#mini-cart .product-item-details")), ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".minicart-items-wrapper .subtitle.empty"))));
                 logger.debug("Cart is active and content (items or empty msg) is visible.");
             } catch (Exception e) {
                 logger.warn("Cart seemed active, but content didn't load quickly. Attempting expansion again.", e);
@@ -264,4 +373,41 @@ public class HeaderPage extends BasePage {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Snapshot of the header: login state, welcome text, cart counter and minicart panel state.
+     */
+    public static class HeaderState {
+        public final boolean loggedIn;
+        public final String welcomeText;
+        public final String cartCountText;
+        public final boolean cartEmpty;
+        public final boolean minicartActive;
+
+        public HeaderState(boolean loggedIn, String welcomeText, String cartCountText, boolean cartEmpty, boolean minicartActive) {
+            this.loggedIn = loggedIn;
+            this.welcomeText = welcomeText == null ? "" : welcomeText;
+            this.cartCountText = cartCountText == null ? "" : cartCountText;
+            this.cartEmpty = cartEmpty;
+            this.minicartActive = minicartActive;
+        }
+
+        /**
+         * @return The cart count, 0 when the counter is empty, or -1 if the counter text is not a number.
+         */
+        public int cartCount() {
+            if (cartEmpty || cartCountText.isEmpty()) return 0;
+            try {
+                return Integer.parseInt(cartCountText);
+            } catch (NumberFormatException e) {
+                logger.error("Could not parse cart count text: '{}'", cartCountText, e);
+                return -1;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "HeaderState{" + "loggedIn=" + loggedIn + ", welcomeText='" + welcomeText + '\'' + ", cartCountText='" + cartCountText + '\'' + ", cartEmpty=" + cartEmpty + ", minicartActive=" + minicartActive + '}';
+        }
+    }
+}
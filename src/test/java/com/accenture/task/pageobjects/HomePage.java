@@ -13,6 +13,10 @@ public class HomePage extends BasePage {
         super(driver);
     }
 
+    public HomePage() {
+        super();
+    }
+
     public void navigateToHomePage(String baseUrl) {
         logger.info("Navigating to Home Page: {}", baseUrl);
         driver.get(baseUrl);
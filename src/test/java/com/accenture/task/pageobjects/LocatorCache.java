@@ -0,0 +1,158 @@
+package com.accenture.task.pageobjects;
+
+import com.accenture.task.utils.SuiteThroughputReporter;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PageFactory support that caches {@code @FindBy} elements until the {@link DomGeneration} changes, instead of
+ * running findElement on every field access. A cached element that turns out stale anyway is looked up again and
+ * the call retried once. Element lists are not cached, since nodes can be added without any cached one going stale.
+ * Disabled with {@code -Dpage.locatorCache=false}.
+ */
+final class LocatorCache implements ElementLocatorFactory {
+
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("page.locatorCache", "true"));
+
+    private static final Logger logger = LoggerFactory.getLogger(LocatorCache.class);
+    private static final AtomicLong LOOKUPS = new AtomicLong();
+    private static final AtomicLong FINDS = new AtomicLong();
+
+    static {
+        SuiteThroughputReporter.addSummary("locator cache", () -> logger.info("Locator cache served {} of {} element lookups without findElement.", LOOKUPS.get() - FINDS.get(), LOOKUPS.get()));
+    }
+
+    private final SearchContext searchContext;
+    private final DomGeneration generation;
+
+    LocatorCache(WebDriver driver) {
+        this.searchContext = driver;
+        this.generation = DomGeneration.of(driver);
+    }
+
+    /**
+     * @return A field decorator creating cached, stale-retrying proxies for this page.
+     */
+    DefaultFieldDecorator decorator() {
+        return new Decorator(this);
+    }
+
+    @Override
+    public ElementLocator createLocator(Field field) {
+        return new CachingLocator(new DefaultElementLocator(searchContext, field));
+    }
+
+    private final class CachingLocator implements ElementLocator {
+        private final ElementLocator delegate;
+        private final String description;
+        private WebElement cached;
+        private long cachedEpoch;
+        private String cachedToken;
+
+        CachingLocator(ElementLocator delegate) {
+            this.delegate = delegate;
+            // DefaultElementLocator renders as "DefaultElementLocator 'By.id: email'", which LocatorMetadata parses
+            this.description = delegate.toString();
+        }
+
+        @Override
+        public WebElement findElement() {
+            LOOKUPS.incrementAndGet();
+            long epoch = generation.epoch();
+            if (cached != null && cachedEpoch == epoch) {
+                return cached;
+            }
+            // Re-accessed after a possible change: one token read per epoch revalidates every cached element
+            String token = cached != null ? generation.readToken() : generation.knownToken();
+            if (cached != null && token.equals(cachedToken)) {
+                cachedEpoch = epoch;
+                return cached;
+            }
+            FINDS.incrementAndGet();
+            cached = delegate.findElement();
+            cachedEpoch = epoch;
+            cachedToken = token;
+            return cached;
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            return delegate.findElements();
+        }
+
+        void evict() {
+            cached = null;
+            generation.markDirty();
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    private static final class Decorator extends DefaultFieldDecorator {
+
+        Decorator(ElementLocatorFactory factory) {
+            super(factory);
+        }
+
+        @Override
+        protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+            InvocationHandler handler = new RetryingElementHandler((CachingLocator) locator);
+            return (WebElement) Proxy.newProxyInstance(loader, new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class}, handler);
+        }
+    }
+
+    private static final class RetryingElementHandler implements InvocationHandler {
+        private final CachingLocator locator;
+
+        RetryingElementHandler(CachingLocator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("toString".equals(method.getName())) {
+                // Described from the locator, without a round trip
+                return "Proxy element for: " + locator;
+            }
+            WebElement element = locator.findElement();
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+                logger.debug("Cached element for {} went stale, looking it up again.", locator);
+                locator.evict();
+                try {
+                    return method.invoke(locator.findElement(), args);
+                } catch (InvocationTargetException retryFailure) {
+                    throw retryFailure.getCause();
+                }
+            }
+        }
+    }
+}
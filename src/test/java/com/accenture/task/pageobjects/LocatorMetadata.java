@@ -0,0 +1,142 @@
+package com.accenture.task.pageobjects;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Derives element descriptions and locators from metadata Selenium already holds on the client side.
+ * PageFactory proxies render as "Proxy element for: DefaultElementLocator 'By.id: email'" and found elements as
+ * "[[ChromeDriver: ...] -> css selector: .foo]", so neither needs a call to the browser.
+ */
+public final class LocatorMetadata {
+
+    private static final Pattern BY_PATTERN = Pattern.compile("By\\.(\\w+): (.+?)'?$");
+    private static final Pattern FOUND_BY_PATTERN = Pattern.compile("^([a-z ]+): (.+)]$");
+    private static final int MAX_DESCRIPTION_LENGTH = 80;
+
+    /**
+     * Defines {@code findElements(strategy, value)} for scripts, resolving a locator encoded by
+     * {@link #strategyAndValue(By)} to an array-like list of elements.
+     */
+    static final String FIND_ELEMENTS_SCRIPT = """
+            function findElements(strategy, value) {
+                switch (strategy) {
+                    case 'id': var byId = document.getElementById(value); return byId ? [byId] : [];
+                    case 'name': return document.getElementsByName(value);
+                    case 'className': return document.getElementsByClassName(value);
+                    case 'tagName': return document.getElementsByTagName(value);
+                    case 'cssSelector': return document.querySelectorAll(value);
+                    case 'xpath':
+                        var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                        var nodes = [];
+                        for (var i = 0; i < snapshot.snapshotLength; i++) nodes.push(snapshot.snapshotItem(i));
+                        return nodes;
+                }
+                return [];
+            }
+            """;
+    private static final List<String> SCRIPT_STRATEGIES = List.of("id", "name", "className", "tagName", "cssSelector", "xpath");
+
+    private LocatorMetadata() {
+    }
+
+    /**
+     * Returns a description of the element whose text is computed only when it is rendered,
+     * i.e. only if the log statement it is passed to is enabled.
+     *
+     * @param element The element to describe, may be null.
+     * @return An object whose toString() is the element description.
+     */
+    public static Object describe(WebElement element) {
+        return new Object() {
+            @Override
+            public String toString() {
+                return description(element);
+            }
+        };
+    }
+
+    /**
+     * Describes the element from its locator, e.g. "By.id: email", without any WebDriver calls.
+     */
+    public static String description(WebElement element) {
+        if (element == null) return "null";
+        By locator = locatorOf(element);
+        if (locator != null) return locator.toString();
+        String elementString = element.toString();
+        if (elementString.length() <= MAX_DESCRIPTION_LENGTH) return elementString;
+        return elementString.substring(0, MAX_DESCRIPTION_LENGTH) + "...";
+    }
+
+    /**
+     * Recovers the locator an element was created from.
+     *
+     * @param element A PageFactory proxy or an element returned by findElement.
+     * @return The locator, or null if it cannot be determined from the element.
+     */
+    public static By locatorOf(WebElement element) {
+        if (element == null) return null;
+        String elementString = element.toString();
+        Matcher byMatcher = BY_PATTERN.matcher(elementString);
+        if (byMatcher.find()) {
+            return toBy(byMatcher.group(1), byMatcher.group(2));
+        }
+        // Elements found from other elements nest as "[[parent -> a] -> b]", so only the last segment is ours
+        int lastSegment = elementString.lastIndexOf("-> ");
+        Matcher foundByMatcher = FOUND_BY_PATTERN.matcher(lastSegment < 0 ? "" : elementString.substring(lastSegment + 3));
+        if (foundByMatcher.find()) {
+            return toBy(foundByMatcher.group(1), foundByMatcher.group(2));
+        }
+        return null;
+    }
+
+    /**
+     * Encodes a locator for {@link #FIND_ELEMENTS_SCRIPT}.
+     *
+     * @param locator An id, name, className, tagName, cssSelector or xpath locator.
+     * @return The strategy and value, e.g. ["cssSelector", ".message"].
+     * @throws IllegalArgumentException For other locators, e.g. link texts.
+     */
+    static List<String> strategyAndValue(By locator) {
+        // By.toString() is "By.<strategy>: <value>" for the standard locators
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        String strategy = description.startsWith("By.") && separator > 0 ? description.substring(3, separator) : "";
+        if (!SCRIPT_STRATEGIES.contains(strategy)) {
+            throw new IllegalArgumentException("Locator cannot be used in scripts: " + description);
+        }
+        return List.of(strategy, description.substring(separator + 2));
+    }
+
+    private static By toBy(String strategy, String value) {
+        switch (strategy) {
+            case "id":
+                return By.id(value);
+            case "name":
+                return By.name(value);
+            case "className":
+            case "class name":
+                return By.className(value);
+            case "cssSelector":
+            case "css selector":
+                return By.cssSelector(value);
+            case "linkText":
+            case "link text":
+                return By.linkText(value);
+            case "partialLinkText":
+            case "partial link text":
+                return By.partialLinkText(value);
+            case "tagName":
+            case "tag name":
+                return By.tagName(value);
+            case "xpath":
+                return By.xpath(value);
+            default:
+                return null;
+        }
+    }
+}
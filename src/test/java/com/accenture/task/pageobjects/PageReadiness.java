@@ -0,0 +1,208 @@
+package com.accenture.task.pageobjects;
+
+import com.accenture.task.driver.DriverFactory;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event-driven replacement for fixed sleeps. Decides when a Magento page is ready by checking
+ * document.readyState, pending RequireJS modules, active jQuery AJAX requests, Magento's loader
+ * and, optionally, a quiet period without DOM mutations. Every wait logs how long it actually took.
+ */
+public class PageReadiness {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageReadiness.class);
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+    private static final Duration POLLING = Duration.ofMillis(50);
+    private static final long DEFAULT_QUIET_MS = 150;
+
+    /**
+     * Returns an empty string when the page is idle, otherwise the name of what is still pending.
+     */
+    static final String PENDING_WORK_SCRIPT = """
+            if (document.readyState !== 'complete') return 'document';
+            var ctx = window.require && window.require.s && window.require.s.contexts && window.require.s.contexts._;
+            if (ctx && ctx.registry) {
+                for (var name in ctx.registry) {
+                    var module = ctx.registry[name];
+                    if (module && module.enabled && !module.error) return 'requirejs';
+                }
+            }
+            if (window.jQuery && window.jQuery.active > 0) return 'ajax';
+            if (document.body && document.body.getAttribute('aria-busy') === 'true') return 'loader';
+            var masks = document.querySelectorAll('.loading-mask');
+            for (var i = 0; i < masks.length; i++) {
+                if (masks[i].offsetParent !== null) return 'loader';
+            }
+            return '';
+            """;
+
+    /**
+     * Resolves once the region has gone {@code quietMs} without mutations, or after {@code maxMs}.
+     */
+    private static final String DOM_QUIET_SCRIPT = """
+            var region = arguments[0] || document.body, quietMs = arguments[1], maxMs = arguments[2];
+            var done = arguments[arguments.length - 1];
+            var start = Date.now(), timer, observer;
+            function finish(quiet) {
+                clearTimeout(timer);
+                if (observer) observer.disconnect();
+                done(quiet);
+            }
+            function arm() {
+                clearTimeout(timer);
+                var remaining = maxMs - (Date.now() - start);
+                if (remaining <= 0) { finish(false); return; }
+                timer = setTimeout(function () { finish(true); }, Math.min(quietMs, remaining));
+            }
+            observer = new MutationObserver(arm);
+            observer.observe(region, {childList: true, subtree: true, attributes: true, characterData: true});
+            arm();
+            """;
+
+    private static final String MARK_DOCUMENT_SCRIPT = "window.__pageReadinessMarker = true;";
+    private static final String IS_NEW_DOCUMENT_SCRIPT = "return !window.__pageReadinessMarker && document.readyState === 'complete';";
+
+    private final WebDriver driver;
+
+    public PageReadiness(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Waits for document.readyState to be 'complete'.
+     */
+    public void waitForDocumentReady() {
+        long start = System.nanoTime();
+        newWait(TIMEOUT).until(d -> "complete".equals(js().executeScript("return document.readyState;")));
+        logElapsed("document ready", start);
+    }
+
+    /**
+     * Waits until the document is loaded, RequireJS has no pending modules, jQuery has no
+     * active AJAX requests and Magento's loading mask is gone.
+     */
+    public void waitForMagentoIdle() {
+        long start = System.nanoTime();
+        String[] pending = {""};
+        try {
+            newWait(TIMEOUT).until(d -> {
+                Object result = js().executeScript(PENDING_WORK_SCRIPT);
+                pending[0] = result == null ? "" : result.toString();
+                return pending[0].isEmpty();
+            });
+        } catch (TimeoutException e) {
+            logger.warn("Page did not become idle within {} s, still waiting on: {}", TIMEOUT.toSeconds(), pending[0]);
+            throw e;
+        }
+        DomGeneration.of(driver).markDirty(); // Finished AJAX requests may have re-rendered parts of the page
+        logElapsed("Magento idle", start);
+    }
+
+    /**
+     * Waits until the given region (or the whole body when null) has had no DOM mutations for a short quiet period.
+     *
+     * @param region The element to observe, or null for document.body.
+     * @return true if the region went quiet, false if it was still changing when the timeout expired.
+     */
+    public boolean waitForDomStable(WebElement region) {
+        return waitForDomStable(region, DEFAULT_QUIET_MS);
+    }
+
+    public boolean waitForDomStable(WebElement region, long quietMs) {
+        long start = System.nanoTime();
+        long maxMs = TIMEOUT.toMillis();
+        Object quiet = executeAsyncScript(driver, TIMEOUT.plusSeconds(5), DOM_QUIET_SCRIPT, region, quietMs, maxMs);
+        boolean stable = Boolean.TRUE.equals(quiet);
+        DomGeneration.of(driver).markDirty();
+        if (!stable) {
+            logger.warn("DOM region was still changing after {} ms.", maxMs);
+        }
+        logElapsed("DOM stable", start);
+        return stable;
+    }
+
+    /**
+     * Waits for the page to be idle and then for the DOM to settle. This is the general-purpose
+     * replacement for a fixed pause after an interaction.
+     */
+    public void waitForPageSettled() {
+        long start = System.nanoTime();
+        waitForMagentoIdle();
+        waitForDomStable(null);
+        logElapsed("page settled", start);
+    }
+
+    /**
+     * Tags the current document so that {@link #waitForNewDocument(Duration)} can detect when it has been replaced.
+     * Call this right before an action that is expected to navigate.
+     */
+    public void markDocument() {
+        js().executeScript(MARK_DOCUMENT_SCRIPT);
+    }
+
+    /**
+     * Waits for the document tagged by {@link #markDocument()} to be replaced by a fully loaded one.
+     *
+     * @param timeout How long to wait for the navigation to happen.
+     * @return true if a new document loaded, false if the page did not navigate within the timeout.
+     */
+    public boolean waitForNewDocument(Duration timeout) {
+        long start = System.nanoTime();
+        try {
+            newWait(timeout).until(d -> Boolean.TRUE.equals(js().executeScript(IS_NEW_DOCUMENT_SCRIPT)));
+            DomGeneration.of(driver).markDirty();
+            logElapsed("new document", start);
+            return true;
+        } catch (TimeoutException e) {
+            logger.debug("No navigation detected within {} ms.", timeout.toMillis());
+            return false;
+        }
+    }
+
+    /**
+     * Runs an async script that gives up by itself within {@code scriptTimeout}. Sessions start with
+     * {@link DriverFactory#SCRIPT_TIMEOUT}, so the usual call is a single round trip; only a longer timeout is set
+     * for the call and then reset to that default, so a pooled session does not carry it over to later tests.
+     */
+    public static Object executeAsyncScript(WebDriver driver, Duration scriptTimeout, String script, Object... args) {
+        if (scriptTimeout.compareTo(DriverFactory.SCRIPT_TIMEOUT) <= 0) {
+            return ((JavascriptExecutor) driver).executeAsyncScript(script, args);
+        }
+        WebDriver.Timeouts timeouts = driver.manage().timeouts();
+        timeouts.scriptTimeout(scriptTimeout);
+        try {
+            return ((JavascriptExecutor) driver).executeAsyncScript(script, args);
+        } finally {
+            try {
+                timeouts.scriptTimeout(DriverFactory.SCRIPT_TIMEOUT);
+            } catch (WebDriverException e) {
+                logger.debug("Could not reset the script timeout to {} ms.", DriverFactory.SCRIPT_TIMEOUT.toMillis(), e);
+            }
+        }
+    }
+
+    private WebDriverWait newWait(Duration timeout) {
+        WebDriverWait wait = new WebDriverWait(driver, timeout, POLLING);
+        wait.ignoring(JavascriptException.class);
+        return wait;
+    }
+
+    private JavascriptExecutor js() {
+        return (JavascriptExecutor) driver;
+    }
+
+    private void logElapsed(String condition, long startNanos) {
+        logger.debug("Wait for {} took {} ms.", condition, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+}
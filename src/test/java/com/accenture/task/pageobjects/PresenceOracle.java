@@ -0,0 +1,142 @@
+package com.accenture.task.pageobjects;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers "which of these messages are shown" in one browser round trip. A single async script watches all
+ * locators and resolves as soon as any of them is visible with text, or once the page has settled (idle as
+ * defined by {@link PageReadiness} and no DOM mutations for a quiet period) without any of them. Absent
+ * messages therefore cost one short script call instead of a full-timeout wait and a NoSuchElementException
+ * per proxy lookup.
+ */
+final class PresenceOracle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresenceOracle.class);
+    private static final long QUIET_MS = 150;
+    private static final AtomicLong CALLS = new AtomicLong();
+    private static final String SAME_DOCUMENT_SCRIPT = "return window.__e2ePresenceMarker === arguments[0];";
+
+    /**
+     * Resolves with the texts of the visible matches, one entry per locator (null when not shown), or with
+     * null when the page settled without any of them. Each locator is passed as [strategy, value]. Tags the
+     * document with {@code arguments[3]} so a failure can be told apart from a navigation.
+     */
+    private static final String VISIBLE_TEXTS_SCRIPT = """
+            var locators = arguments[0], quietMs = arguments[1], maxMs = arguments[2];
+            var done = arguments[arguments.length - 1];
+            window.__e2ePresenceMarker = arguments[3];
+            function pendingWork() {
+            %s
+            }
+            %s
+            function shownText(strategy, value) {
+                var candidates = findElements(strategy, value);
+                for (var i = 0; i < candidates.length; i++) {
+                    var el = candidates[i];
+                    if (!el.getClientRects().length || getComputedStyle(el).visibility === 'hidden') continue;
+                    var text = (el.innerText || '').trim();
+                    if (text) return text;
+                }
+                return null;
+            }
+            var start = Date.now(), lastMutation = Date.now(), finished = false, timer, observer;
+            function finish(result) {
+                if (finished) return;
+                finished = true;
+                clearTimeout(timer);
+                if (observer) observer.disconnect();
+                done(result);
+            }
+            function check() {
+                var texts = [], any = false;
+                for (var i = 0; i < locators.length; i++) {
+                    texts.push(shownText(locators[i][0], locators[i][1]));
+                    if (texts[i] !== null) any = true;
+                }
+                if (any) { finish(texts); return; }
+                var now = Date.now();
+                if (now - start >= maxMs) { finish(null); return; }
+                var quietFor = now - lastMutation;
+                if (quietFor >= quietMs && pendingWork() === '') { finish(null); return; }
+                clearTimeout(timer);
+                timer = setTimeout(check, Math.min(Math.max(quietMs - quietFor, 50), maxMs - (now - start)));
+            }
+            observer = new MutationObserver(function () { lastMutation = Date.now(); check(); });
+            observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});
+            // Elements already on a settled page should not wait out a quiet period
+            if (document.readyState === 'complete' && pendingWork() === '') lastMutation = start - quietMs;
+            check();
+            """.formatted(PageReadiness.PENDING_WORK_SCRIPT, LocatorMetadata.FIND_ELEMENTS_SCRIPT);
+
+    private final WebDriver driver;
+
+    PresenceOracle(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * @param timeout  How long to wait at most for the page to settle or one of the elements to show.
+     * @param locators The elements to look for; see {@link LocatorMetadata#strategyAndValue(By)} for the supported locators.
+     * @return The text of every locator that is shown, keyed in argument order; empty if none is shown.
+     */
+    @SuppressWarnings("unchecked")
+    Map<By, String> shownTexts(Duration timeout, List<By> locators) {
+        List<List<String>> encoded = new ArrayList<>();
+        for (By locator : locators) {
+            encoded.add(LocatorMetadata.strategyAndValue(locator));
+        }
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        String marker = "presence-" + CALLS.incrementAndGet();
+        while (true) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            try {
+                List<String> texts = (List<String>) PageReadiness.executeAsyncScript(driver, timeout.plusSeconds(5), VISIBLE_TEXTS_SCRIPT, encoded, QUIET_MS, Math.max(remainingMs, 0), marker);
+                Map<By, String> shown = new LinkedHashMap<>();
+                if (texts != null) {
+                    for (int i = 0; i < locators.size(); i++) {
+                        if (texts.get(i) != null) shown.put(locators.get(i), texts.get(i));
+                    }
+                }
+                logger.debug("Presence check of {} took {} ms, shown: {}", locators, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), shown.keySet());
+                return shown;
+            } catch (JavascriptException | ScriptTimeoutException e) {
+                if (e instanceof JavascriptException && isSameDocument(marker)) {
+                    // Still the document the script ran in, so the script itself failed, e.g. on an invalid locator
+                    logger.error("Presence check of {} failed.", locators, e);
+                    throw e;
+                }
+                if (System.nanoTime() >= deadline) {
+                    logger.debug("Presence check of {} did not finish within {} ms.", locators, timeout.toMillis());
+                    return Map.of();
+                }
+                // A navigation unloaded the script; look again on the new document
+                logger.debug("Presence check interrupted by a navigation, retrying on the new document.", e);
+            }
+        }
+    }
+
+    private boolean isSameDocument(String marker) {
+        try {
+            return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(SAME_DOCUMENT_SCRIPT, marker));
+        } catch (WebDriverException e) {
+            // The next document is not ready to run scripts yet
+            return false;
+        }
+    }
+}
@@ -87,12 +87,8 @@ public class ProductDetailPage extends BasePage {
             try {
                 wait.until(ExpectedConditions.elementToBeClickable(option));
                 clickElement(option);
+                waitForSwatchSelection(option);
                 logger.info("Selected size: {}", option.getAttribute("option-label"));
-                try {
-                    Thread.sleep(500);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
                 return;
             } catch (Exception e) {
                 logger.trace("Size option '{}' not clickable, trying next.", option.getAttribute("option-label"));
@@ -112,12 +108,8 @@ public class ProductDetailPage extends BasePage {
             try {
                 wait.until(ExpectedConditions.elementToBeClickable(option));
                 clickElement(option);
+                waitForSwatchSelection(option);
                 logger.info("Selected color: {}", option.getAttribute("option-label"));
-                try {
-                    Thread.sleep(500);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
                 return;
             } catch (Exception e) {
                 logger.trace("Color option '{}' not clickable, trying next.", option.getAttribute("option-label"));
@@ -126,6 +118,13 @@ public class ProductDetailPage extends BasePage {
         throw new NoSuchElementException("No available/clickable color option found.");
     }
 
+    /**
+     * Waits for a clicked swatch to become selected and for the resulting price/stock update to finish.
+     */
+    private void waitForSwatchSelection(WebElement option) {
+        wait.until(ExpectedConditions.attributeContains(option, "class", "selected"));
+        readiness.waitForMagentoIdle();
+    }
 
     public void clickAddToCart() {
         logger.info("Clicking Add to Cart button for product: {}", getProductName());
@@ -162,7 +161,7 @@ public class ProductDetailPage extends BasePage {
 
     public String getSuccessMessage() {
         try {
-            wait.withTimeout(Duration.ofSeconds(10)).until(ExpectedConditions.visibilityOf(successMessage));
+            waitUntil("getSuccessMessage", Duration.ofSeconds(10), ExpectedConditions.visibilityOf(successMessage));
             return getTextFromElement(successMessage);
         } catch (Exception e) {
             logger.warn("Success message element not found or timed out.");
@@ -172,39 +171,17 @@ public class ProductDetailPage extends BasePage {
 
     /**
      * Gets the error message text (e.g., "The requested qty is not available").
-     * Checks multiple potential error locations after waiting for one to appear.
+     * Checks both potential error locations in one look once one appears or the page settles.
      *
      * @return The error message, or empty string if not found.
      */
     public String getErrorMessage() {
-        try {
-            // Wait for *either* potential error message element to be visible
-            wait.withTimeout(Duration.ofSeconds(5)).until(ExpectedConditions.or(ExpectedConditions.visibilityOf(errorMessageTop), ExpectedConditions.visibilityOf(errorMessageGeneral)));
-
-            // Now check which one is actually displayed and get its text
-            if (errorMessageTop.isDisplayed()) {
-                String errorText = getTextFromElement(errorMessageTop);
-                logger.info("Found top error message: {}", errorText);
-                return errorText;
-            } else if (errorMessageGeneral.isDisplayed()) {
-                String errorText = getTextFromElement(errorMessageGeneral);
-                logger.info("Found general error message: {}", errorText);
-                return errorText;
-            } else {
-                // This case should be rare if the wait.until(or(...)) succeeded
-                logger.warn("Waited for error message, but neither known error element is displayed now.");
-                return "";
-            }
-        } catch (TimeoutException e) {
-            logger.warn("No known error message element appeared on product page within timeout.");
-            return "";
-        } catch (NoSuchElementException e) {
-            // This might happen if the elements disappear *after* the wait condition was met but before isDisplayed() check
-            logger.warn("Error message element became stale or disappeared after initial wait.");
-            return "";
-        } catch (Exception e) {
-            logger.error("Unexpected error while getting error message.", e);
-            return "";
+        String errorText = getFirstShownText(Duration.ofSeconds(5), errorMessageTop, errorMessageGeneral);
+        if (errorText.isEmpty()) {
+            logger.warn("No known error message shown on product page after it settled.");
+        } else {
+            logger.info("Found error message: {}", errorText);
         }
+        return errorText;
     }
 }
\ No newline at end of file
@@ -10,9 +10,34 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 public class ProductListPage extends BasePage {
 
+    /**
+     * Reads every grid item in one round trip. Name/price selectors mirror productItemNameLocator and
+     * productItemPriceLocator; innerText is used so the text matches what WebElement.getText() would return.
+     */
+    private static final String EXTRACT_PRODUCTS_SCRIPT = """
+            var result = [];
+            var items = document.querySelectorAll('.product-items .product-item');
+            for (var i = 0; i < items.length; i++) {
+                var info = items[i].querySelector('.product-item-info');
+                if (!info) continue;
+                var link = info.querySelector('.product-item-link');
+                var price = info.querySelector('.price-box .price, .price-box .minimal-price .price');
+                result.push({
+                    element: info,
+                    name: link ? (link.innerText || link.textContent).trim() : null,
+                    url: link ? link.href : null,
+                    priceText: price ? (price.innerText || price.textContent).trim() : null,
+                    inStock: !info.querySelector('.stock.unavailable'),
+                    canAddToCart: !!info.querySelector('.action.tocart')
+                });
+            }
+            return result;
+            """;
+
     private final By productItemPriceLocator = By.cssSelector(".price-box .price, .price-box .minimal-price .price");
     private final By productItemNameLocator = By.cssSelector(".product-item-link");
     private final By productItemContainerLocator = By.cssSelector(".product-item-info");
@@ -49,15 +74,19 @@ public class ProductListPage extends BasePage {
     public void selectSortBy(String optionText) {
         waitForElementToBeVisible(sorterDropdown);
         Select select = new Select(sorterDropdown);
+        if (select.getFirstSelectedOption().getText().trim().equals(optionText)) {
+            logger.info("Sort option '{}' is already selected.", optionText);
+            return;
+        }
         logger.info("Selecting sort option: {}", optionText);
+        readiness.markDocument();
         select.selectByVisibleText(optionText);
-        try {
-            logger.debug("Waiting briefly after selecting sort by...");
-            Thread.sleep(1000); // Small pause often helps
-            waitForProductsToLoadAfterAction();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        // Selecting a different sort order reloads the page
+        if (!readiness.waitForNewDocument(TIMEOUT)) {
+            logger.warn("Sort selection did not reload the page, waiting for it to settle instead.");
         }
+        readiness.waitForMagentoIdle();
+        waitForProductsToLoadAfterAction();
     }
 
     public void setSortDirection(String direction) {
@@ -85,7 +114,7 @@ public class ProductListPage extends BasePage {
             if (!productItems.isEmpty()) {
                 try {
                     logger.trace("Waiting for staleness of old first product item...");
-                    wait.withTimeout(Duration.ofSeconds(5)).until(ExpectedConditions.stalenessOf(productItems.get(0)));
+                    waitUntil("old products stale", Duration.ofSeconds(5), ExpectedConditions.stalenessOf(productItems.get(0)));
                     logger.trace("Old product item became stale.");
                 } catch (TimeoutException e) {
                     logger.warn("Old product item did not become stale quickly, proceeding to check for new items visibility.");
@@ -149,17 +178,66 @@ public class ProductListPage extends BasePage {
         return new ProductDetailPage(driver);
     }
 
+    /**
+     * Extracts name, price, URL, stock flags and the item element for every product in the grid
+     * with a single script execution instead of several WebDriver calls per item.
+     * Items without a readable price get a price of -1.0 and items without a name link get a null name.
+     *
+     * @return Info for all product items currently in the grid, in page order.
+     */
+    @SuppressWarnings("unchecked")
+    public List<ProductInfo> extractProducts() {
+        List<Map<String, Object>> rawItems = (List<Map<String, Object>>) ((JavascriptExecutor) driver).executeScript(EXTRACT_PRODUCTS_SCRIPT);
+        List<ProductInfo> products = new ArrayList<>();
+        if (rawItems == null) {
+            return products;
+        }
+        for (Map<String, Object> raw : rawItems) {
+            String priceText = (String) raw.get("priceText");
+            double price = priceText == null ? -1.0 : TestUtils.extractPrice(priceText);
+            products.add(new ProductInfo((WebElement) raw.get("element"), price, (String) raw.get("name"), (String) raw.get("url"), Boolean.TRUE.equals(raw.get("inStock")), Boolean.TRUE.equals(raw.get("canAddToCart"))));
+        }
+        logger.debug("Bulk-extracted {} product items.", products.size());
+        return products;
+    }
+
     private List<ProductInfo> getAllProductInfo() {
         waitForProductsToLoadAfterAction();
         List<ProductInfo> productInfos = new ArrayList<>();
-        List<WebElement> currentItems = getProductItems();
-
-        if (currentItems.isEmpty()) {
+        List<ProductInfo> extracted = readProducts();
+        if (extracted.isEmpty()) {
             logger.warn("No product items found on page to extract info.");
             return productInfos;
         }
+        for (ProductInfo info : extracted) {
+            if (info.price >= 0 && info.name != null) {
+                productInfos.add(info);
+            } else {
+                logger.warn("Skipping product '{}' due to invalid price ({}) or name.", info.name, info.price);
+            }
+        }
+        logger.debug("Extracted valid info for {} products.", productInfos.size());
+        return productInfos;
+    }
 
-        for (WebElement item : currentItems) {
+    /**
+     * Reads the grid with {@link #extractProducts()}, or element by element if the script fails.
+     */
+    private List<ProductInfo> readProducts() {
+        try {
+            return extractProducts();
+        } catch (JavascriptException | ClassCastException e) {
+            logger.warn("Bulk product extraction failed, falling back to per-element reads.", e);
+            return extractProductsPerElement();
+        }
+    }
+
+    /**
+     * Same result as {@link #extractProducts()}, read with several WebDriver calls per item.
+     */
+    private List<ProductInfo> extractProductsPerElement() {
+        List<ProductInfo> products = new ArrayList<>();
+        for (WebElement item : getProductItems()) {
             WebElement itemInfoContainer;
             try {
                 itemInfoContainer = item.findElement(productItemContainerLocator);
@@ -167,16 +245,15 @@ public class ProductListPage extends BasePage {
                 logger.warn("Could not find '.product-item-info' container within a list item. Skipping item.");
                 continue;
             }
-            double price = getProductPrice(itemInfoContainer);
-            String name = getProductName(itemInfoContainer);
-            if (price >= 0 && !name.equals("N/A")) {
-                productInfos.add(new ProductInfo(itemInfoContainer, price, name));
-            } else {
-                logger.warn("Skipping product '{}' due to invalid price ({}) or name.", name, price);
-            }
+            List<WebElement> links = itemInfoContainer.findElements(productItemNameLocator);
+            String name = links.isEmpty() ? null : links.get(0).getText().trim();
+            String url = links.isEmpty() ? null : links.get(0).getAttribute("href");
+            boolean inStock = itemInfoContainer.findElements(By.cssSelector(".stock.unavailable")).isEmpty();
+            boolean canAddToCart = !itemInfoContainer.findElements(By.cssSelector(".action.tocart")).isEmpty();
+            products.add(new ProductInfo(itemInfoContainer, getProductPrice(itemInfoContainer), name, url, inStock, canAddToCart));
         }
-        logger.debug("Extracted valid info for {} products.", productInfos.size());
-        return productInfos;
+        logger.debug("Read {} product items element by element.", products.size());
+        return products;
     }
 
     public ProductDetailPage selectProductWithMinPrice() {
@@ -203,30 +280,22 @@ public class ProductListPage extends BasePage {
 
     public double getFirstProductPrice() {
         waitForProductsToLoadAfterAction();
-        List<WebElement> currentItems = getProductItems();
-        if (currentItems.isEmpty()) {
+        List<ProductInfo> products = readProducts();
+        if (products.isEmpty()) {
             throw new NoSuchElementException("No product items found on the page.");
         }
-        WebElement firstItemInfoContainer = currentItems.get(0).findElement(productItemContainerLocator);
-        return getProductPrice(firstItemInfoContainer);
+        return products.get(0).price;
     }
 
     public WebElement findProductContainerByName(String name) {
         waitForProductsToLoadAfterAction();
-        List<WebElement> currentItems = getProductItems();
-        logger.debug("Searching for product '{}' among {} items", name, currentItems.size());
-        for (WebElement item : currentItems) {
-            WebElement itemInfoContainer;
-            try {
-                itemInfoContainer = item.findElement(productItemContainerLocator);
-                String currentName = getProductName(itemInfoContainer);
-                logger.trace("Checking item: {}", currentName);
-                if (currentName.equalsIgnoreCase(name)) {
-                    logger.info("Found product container for: {}", name);
-                    return itemInfoContainer;
-                }
-            } catch (NoSuchElementException e) {
-                logger.warn("Skipping item, could not find inner container or name.");
+        List<ProductInfo> products = readProducts();
+        logger.debug("Searching for product '{}' among {} items", name, products.size());
+        for (ProductInfo product : products) {
+            logger.trace("Checking item: {}", product.name);
+            if (product.name != null && product.name.equalsIgnoreCase(name)) {
+                logger.info("Found product container for: {}", name);
+                return product.element;
             }
         }
         throw new NoSuchElementException("Product with name '" + name + "' not found on the current list page.");
@@ -241,15 +310,29 @@ public class ProductListPage extends BasePage {
         return getHeader().searchFor(searchTerm);
     }
 
-    private static class ProductInfo {
-        WebElement element;
-        double price;
-        String name;
+    /**
+     * Product grid item as read from the list page. {@code element} is the item's '.product-item-info' container.
+     */
+    public static class ProductInfo {
+        public final WebElement element;
+        public final double price;
+        public final String name;
+        public final String url;
+        public final boolean inStock;
+        public final boolean canAddToCart;
 
-        ProductInfo(WebElement element, double price, String name) {
+        public ProductInfo(WebElement element, double price, String name, String url, boolean inStock, boolean canAddToCart) {
             this.element = element;
             this.price = price;
             this.name = name;
+            this.url = url;
+            this.inStock = inStock;
+            this.canAddToCart = canAddToCart;
+        }
+
+        @Override
+        public String toString() {
+            return "ProductInfo{" + "name='" + name + '\'' + ", price=" + price + ", url='" + url + '\'' + ", inStock=" + inStock + ", canAddToCart=" + canAddToCart + '}';
         }
     }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.accenture.task.pageobjects;
 
 import com.accenture.task.utils.TestUtils;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -14,6 +16,28 @@ import java.util.Map;
 
 public class ShoppingCartPage extends BasePage {
 
+    /**
+     * Reads the whole cart table and the grand total in one round trip, using the same selectors as the row locators below.
+     */
+    private static final String EXTRACT_CART_SCRIPT = """
+            function text(root, selector) {
+                var el = root.querySelector(selector);
+                return el ? (el.innerText || el.textContent).trim() : null;
+            }
+            var rows = document.querySelectorAll('.cart.item');
+            var items = [];
+            for (var i = 0; i < rows.length; i++) {
+                var qty = rows[i].querySelector('td.col.qty input.qty');
+                items.push({
+                    name: text(rows[i], 'td.col.item .product-item-name a'),
+                    price: text(rows[i], 'td.col.price .cart-price .price'),
+                    qty: qty ? qty.value : null,
+                    subtotal: text(rows[i], 'td.col.subtotal .cart-price .price')
+                });
+            }
+            return {items: items, grandTotal: text(document, '.grand.totals .price')};
+            """;
+
     // Locators relative to a cart item row (tbody)
     private final By productNameLocator = By.cssSelector("td.col.item .product-item-name a");
     private final By itemPriceLocator = By.cssSelector("td.col.price .cart-price .price");
@@ -48,20 +72,85 @@ public class ShoppingCartPage extends BasePage {
 
     /**
      * Retrieves details for all items currently displayed in the shopping cart table.
+     * All rows are read with a single script execution; per-element reads are used only if that fails.
      *
      * @return A Map where the key is the product name and the value is CartItemDetails.
      */
     public Map<String, CartItemDetails> getCartItemDetails() {
-        Map<String, CartItemDetails> items = new HashMap<>();
+        if (!waitForCartTableOrEmptyMessage()) {
+            return new HashMap<>(); // Return empty map if table isn't there
+        }
+        try {
+            return extractCartContents().items;
+        } catch (JavascriptException | ClassCastException e) {
+            logger.warn("Bulk cart extraction failed, falling back to per-element reads.", e);
+            return readCartItemDetailsPerElement();
+        }
+    }
+
+    /**
+     * Reads all cart rows and the grand total with a single script execution.
+     *
+     * @return The cart contents, with an empty item map when the cart has no rows.
+     */
+    public CartContents getCartContents() {
+        if (!waitForCartTableOrEmptyMessage()) {
+            return new CartContents(new HashMap<>(), 0.0);
+        }
+        return extractCartContents();
+    }
+
+    /**
+     * Retrieves cart item details with separate WebDriver calls per row and cell.
+     * Slower than {@link #getCartItemDetails()}; kept as a fallback when script execution is unavailable.
+     *
+     * @return A Map where the key is the product name and the value is CartItemDetails.
+     */
+    public Map<String, CartItemDetails> getCartItemDetailsPerElement() {
+        if (!waitForCartTableOrEmptyMessage()) {
+            return new HashMap<>();
+        }
+        return readCartItemDetailsPerElement();
+    }
+
+    private boolean waitForCartTableOrEmptyMessage() {
         // Wait for the table itself or the first row to be present
         try {
             wait.until(ExpectedConditions.or(ExpectedConditions.visibilityOfElementLocated(By.id("shopping-cart-table")), ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".cart.empty")) // Handle empty cart case
             ));
+            return true;
         } catch (Exception e) {
             logger.error("Shopping cart table or empty message did not appear.", e);
-            return items; // Return empty map if table isn't there
+            return false;
         }
+    }
 
+    @SuppressWarnings("unchecked")
+    private CartContents extractCartContents() {
+        Map<String, Object> raw = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(EXTRACT_CART_SCRIPT);
+        Map<String, CartItemDetails> items = new HashMap<>();
+        for (Map<String, Object> row : (List<Map<String, Object>>) raw.get("items")) {
+            String name = (String) row.get("name");
+            String qtyText = (String) row.get("qty");
+            if (name == null || qtyText == null) {
+                logger.error("Cart row is missing its name or quantity ({}). Skipping row.", row);
+                continue;
+            }
+            logger.debug("Processing cart item: Name='{}', Price='{}', Qty='{}', Subtotal='{}'", name, row.get("price"), qtyText, row.get("subtotal"));
+            try {
+                items.put(name, new CartItemDetails(name, TestUtils.extractPrice((String) row.get("price")), Integer.parseInt(qtyText.trim()), TestUtils.extractPrice((String) row.get("subtotal"))));
+            } catch (NumberFormatException e) {
+                logger.error("Error parsing quantity '{}' for cart row '{}'. Skipping row.", qtyText, name, e);
+            }
+        }
+        String grandTotalText = (String) raw.get("grandTotal");
+        double grandTotal = grandTotalText == null ? 0.0 : TestUtils.extractPrice(grandTotalText);
+        logger.info("Extracted details for {} items from the cart page in one script call.", items.size());
+        return new CartContents(items, grandTotal);
+    }
+
+    private Map<String, CartItemDetails> readCartItemDetailsPerElement() {
+        Map<String, CartItemDetails> items = new HashMap<>();
 
         // Refresh the list of rows after waiting
         cartItemRows = driver.findElements(By.cssSelector(".cart.item"));
@@ -100,6 +189,24 @@ public class ShoppingCartPage extends BasePage {
         return items;
     }
 
+    /**
+     * All cart rows plus the grand total, as read in one pass.
+     */
+    public static class CartContents {
+        public final Map<String, CartItemDetails> items;
+        public final double grandTotal;
+
+        public CartContents(Map<String, CartItemDetails> items, double grandTotal) {
+            this.items = items;
+            this.grandTotal = grandTotal;
+        }
+
+        @Override
+        public String toString() {
+            return "CartContents{" + "items=" + items + ", grandTotal=" + grandTotal + '}';
+        }
+    }
+
     /**
      * Inner class to hold structured data for a cart item.
      */
@@ -1,10 +1,13 @@
 package com.accenture.task.pageobjects;
 
-import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class SignInPage extends BasePage {
 
     @FindBy(id = "email")
@@ -59,8 +62,10 @@ public class SignInPage extends BasePage {
      */
     public void attemptLogin(String email, String password) {
         logger.info("Attempting login action for user: {}", email);
-        enterEmail(email);
-        enterPassword(password);
+        Map<By, String> values = new LinkedHashMap<>();
+        values.put(LocatorMetadata.locatorOf(emailInput), email);
+        values.put(LocatorMetadata.locatorOf(passwordInput), password);
+        fillForm(values);
         clickSignInButton();
     }
 
@@ -91,16 +96,10 @@ public class SignInPage extends BasePage {
     }
 
     public String getLoginErrorMessage() {
-        try {
-            // Wait for the error message specifically if checking for failure
-            waitForElementToBeVisible(loginErrorMessage);
-            return getTextFromElement(loginErrorMessage);
-        } catch (NoSuchElementException e) {
-            logger.warn("Login error message element not found.");
-            return "";
-        } catch (Exception e) {
-            logger.error("Error waiting for login error message", e);
-            return "";
+        String message = getFirstShownText(TIMEOUT, loginErrorMessage);
+        if (message.isEmpty()) {
+            logger.warn("Login error message not shown after the page settled.");
         }
+        return message;
     }
 }
\ No newline at end of file
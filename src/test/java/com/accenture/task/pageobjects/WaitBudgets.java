@@ -0,0 +1,208 @@
+package com.accenture.task.pageobjects;
+
+import com.accenture.task.utils.TestEnvironment;
+import com.accenture.task.utils.TestUtils;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Learns how long each wait site usually takes and derives its timeout and polling interval from that.
+ * A site's timeout is its 99th percentile latency times a headroom factor, never below two seconds and never
+ * above the ceiling the caller passes, so waits that are not going to succeed fail fast instead of burning
+ * the full ceiling. Until a site has enough samples the ceiling is used. A wait that times out is kept as a
+ * censored sample, a lower bound of its latency, and the site's timeout is then at least twice the longest such
+ * bound, so a budget that shrank too far grows back with every timeout. Samples are kept across runs under the
+ * local cache directory, per store under test. Disabled with {@code -Dwait.budgets=false}.
+ */
+final class WaitBudgets {
+
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("wait.budgets", "true"));
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitBudgets.class);
+    private static final Json JSON = new Json();
+    private static final int MIN_SAMPLES = Integer.getInteger("wait.budgets.minSamples", 20);
+    private static final int MAX_SAMPLES = 200;
+    private static final double HEADROOM = 3.0;
+    private static final double TIMEOUT_GROWTH = 2.0;
+    private static final Duration MIN_TIMEOUT = Duration.ofSeconds(2);
+    private static final long MIN_POLLING_MS = 50;
+    private static final long MAX_POLLING_MS = 500;
+    // Per store host, so that runs against the local stand-in do not shrink the budgets used against a real store.
+    // The host alone, since the stand-in listens on a different port every run
+    private static final Path FILE = TestUtils.localCachePath("wait-budgets", URI.create(TestEnvironment.baseUrl()).getHost() + ".json");
+    private static final Map<String, Site> SITES = new ConcurrentHashMap<>();
+
+    static {
+        if (ENABLED) {
+            load();
+            Runtime.getRuntime().addShutdownHook(new Thread(WaitBudgets::save, "wait-budgets-save"));
+        }
+    }
+
+    private WaitBudgets() {
+    }
+
+    /**
+     * @param site    A stable name of the wait, e.g. "HeaderPage.expandCart".
+     * @param ceiling The longest the wait may take, used as-is while the site has too few samples.
+     * @return The timeout and polling interval to use for one wait at this site.
+     */
+    static Budget budgetFor(String site, Duration ceiling) {
+        Site known = ENABLED ? SITES.get(site) : null;
+        long[] samples = known == null ? new long[0] : known.samples();
+        if (samples.length < MIN_SAMPLES) {
+            return new Budget(ceiling, Duration.ofMillis(MAX_POLLING_MS), samples.length);
+        }
+        long p50 = percentile(samples, 0.50);
+        long p99 = percentile(samples, 0.99);
+        long longestTimeout = known.longestTimeout();
+        Duration timeout = Duration.ofMillis((long) Math.max(p99 * HEADROOM, longestTimeout * TIMEOUT_GROWTH));
+        if (timeout.compareTo(MIN_TIMEOUT) < 0) timeout = MIN_TIMEOUT;
+        if (timeout.compareTo(ceiling) > 0) timeout = ceiling;
+        long polling = Math.max(MIN_POLLING_MS, Math.min(MAX_POLLING_MS, p50 / 4));
+        return new Budget(timeout, Duration.ofMillis(polling), samples.length);
+    }
+
+    /**
+     * Records how long a successful wait at the site took.
+     */
+    static void record(String site, Duration elapsed) {
+        if (ENABLED) {
+            SITES.computeIfAbsent(site, s -> new Site()).add(elapsed.toMillis(), false);
+        }
+    }
+
+    /**
+     * Records a wait at the site that timed out after the given time. The site's next timeouts are at least
+     * twice as long, up to the ceiling, until the sample ages out of the window.
+     */
+    static void recordTimeout(String site, Duration elapsed) {
+        if (ENABLED) {
+            SITES.computeIfAbsent(site, s -> new Site()).add(elapsed.toMillis(), true);
+            logger.info("Wait at {} timed out after {} ms, widening its budget.", site, elapsed.toMillis());
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void load() {
+        if (!Files.exists(FILE)) {
+            return;
+        }
+        try {
+            Map<String, Object> json = JSON.toType(Files.readString(FILE, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            json.forEach((site, values) -> {
+                Site loaded = new Site();
+                // Timeouts are stored as negative values
+                ((List<Number>) values).forEach(value -> loaded.add(Math.abs(value.longValue()), value.longValue() < 0));
+                SITES.put(site, loaded);
+            });
+            logger.info("Loaded wait latencies of {} sites from {}.", SITES.size(), FILE);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not read wait latencies from {}, starting without them.", FILE, e);
+            SITES.clear();
+        }
+    }
+
+    private static void save() {
+        Map<String, Object> json = new HashMap<>();
+        SITES.forEach((site, samples) -> json.put(site, samples.inOrder()));
+        try {
+            Files.createDirectories(FILE.getParent());
+            Path temp = Files.createTempFile(FILE.getParent(), "wait-budgets", ".tmp");
+            Files.writeString(temp, JSON.toJson(json), StandardCharsets.UTF_8);
+            Files.move(temp, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Saved wait latencies of {} sites.", SITES.size());
+        } catch (IOException e) {
+            logger.warn("Could not save wait latencies to {}.", FILE, e);
+        }
+    }
+
+    /**
+     * Timeout and polling interval for one wait.
+     */
+    static class Budget {
+        final Duration timeout;
+        final Duration polling;
+        final int samples;
+
+        Budget(Duration timeout, Duration polling, int samples) {
+            this.timeout = timeout;
+            this.polling = polling;
+            this.samples = samples;
+        }
+
+        @Override
+        public String toString() {
+            return timeout.toMillis() + " ms timeout, " + polling.toMillis() + " ms polling (" + samples + " samples)";
+        }
+    }
+
+    /**
+     * The most recent latencies of one site, oldest overwritten first. Timed-out waits are stored negated.
+     */
+    private static final class Site {
+        private final long[] ring = new long[MAX_SAMPLES];
+        private int count;
+        private int next;
+
+        synchronized void add(long millis, boolean timedOut) {
+            ring[next] = timedOut ? -Math.max(millis, 1) : millis;
+            next = (next + 1) % MAX_SAMPLES;
+            count = Math.min(count + 1, MAX_SAMPLES);
+        }
+
+        /**
+         * @return The latencies sorted ascending, timeouts counted with the time they waited.
+         */
+        synchronized long[] samples() {
+            long[] copy = new long[count];
+            for (int i = 0; i < count; i++) {
+                copy[i] = Math.abs(ring[i]);
+            }
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        /**
+         * @return The longest time a timed-out wait in the window waited, or 0 if none timed out.
+         */
+        synchronized long longestTimeout() {
+            long longest = 0;
+            for (int i = 0; i < count; i++) {
+                longest = Math.max(longest, -ring[i]);
+            }
+            return longest;
+        }
+
+        /**
+         * @return The samples oldest first, so that a reload keeps the same eviction order.
+         */
+        synchronized List<Long> inOrder() {
+            Long[] ordered = new Long[count];
+            int start = count < MAX_SAMPLES ? 0 : next;
+            for (int i = 0; i < count; i++) {
+                ordered[i] = ring[(start + i) % MAX_SAMPLES];
+            }
+            return Arrays.asList(ordered);
+        }
+    }
+}
@@ -0,0 +1,690 @@
+package com.accenture.task.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded stand-in for the Magento storefront, serving the catalog of {@link StubCatalog} on localhost.
+ * Pages are rendered from the fixtures under {@code src/test/resources/stub} with the Luma markup the page
+ * objects rely on. The stateful endpoints (register, login, add-to-cart, cart update, customer section data)
+ * keep per-session state keyed by the PHPSESSID cookie and validate form_key on POST requests like Magento.
+ * Responses can be delayed by a fixed {@code magento.local.latencyMs} to model a deterministic network.
+ */
+public class LocalMagentoServer implements AutoCloseable {
+
+    public static final String EXISTING_CUSTOMER_EMAIL = "test_already_exists@example.com";
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalMagentoServer.class);
+    private static final Json JSON = new Json();
+    private static final int PORT = Integer.getInteger("magento.local.port", 0);
+    private static final long LATENCY_MS = Long.getLong("magento.local.latencyMs", 0);
+    private static final Map<String, String> COLOR_CODES = Map.of("Black", "#000000", "Blue", "#1857f7", "Gray", "#8f8f8f", "Orange", "#eb6703", "Red", "#ff0000");
+    static final String SESSION_COOKIE = "PHPSESSID";
+    static final String FORM_KEY_COOKIE = "form_key";
+
+    private static volatile LocalMagentoServer shared;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Customer> customers = new ConcurrentHashMap<>();
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+
+    private LocalMagentoServer(HttpServer server) {
+        this.server = server;
+        this.executor = Executors.newFixedThreadPool(16, runnable -> {
+            Thread thread = new Thread(runnable, "stub-magento");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        // Feature 1 expects this account to exist already
+        customers.put(EXISTING_CUSTOMER_EMAIL, new Customer(EXISTING_CUSTOMER_EMAIL, "Password123!", "Existing", "User"));
+    }
+
+    /**
+     * Starts a server on the loopback interface, on {@code magento.local.port} or a free port.
+     */
+    public static LocalMagentoServer start() {
+        try {
+            LocalMagentoServer stub = new LocalMagentoServer(HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), PORT), 0));
+            stub.server.start();
+            logger.info("Local Magento stand-in listening on {} (latency {} ms)", stub.baseUrl(), LATENCY_MS);
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the local Magento stand-in", e);
+        }
+    }
+
+    /**
+     * Returns the JVM-wide server, starting it on first use. It is stopped when the JVM exits.
+     */
+    public static LocalMagentoServer shared() {
+        if (shared == null) {
+            synchronized (LocalMagentoServer.class) {
+                if (shared == null) {
+                    LocalMagentoServer stub = start();
+                    Runtime.getRuntime().addShutdownHook(new Thread(stub::close, "stub-magento-shutdown"));
+                    shared = stub;
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * @return The base URL with a trailing slash, e.g. "http://127.0.0.1:54321/".
+     */
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Creates a guest session, as a first page view would.
+     */
+    public Session newSession() {
+        Session session = new Session();
+        sessions.put(session.id, session);
+        return session;
+    }
+
+    /**
+     * @return The session with the given PHPSESSID, or null.
+     */
+    public Session session(String id) {
+        return sessions.get(id);
+    }
+
+    public boolean hasCustomer(String email) {
+        return customers.containsKey(email.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("Local Magento stand-in stopped.");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (LATENCY_MS > 0) {
+                TimeUnit.MILLISECONDS.sleep(LATENCY_MS);
+            }
+            route(exchange, new Request(exchange));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Stub request {} {} failed", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            exchange.sendResponseHeaders(500, -1);
+        }
+    }
+
+    private void route(HttpExchange exchange, Request request) throws IOException {
+        String path = request.path;
+        Session session = request.session;
+        if (path.equals("/")) {
+            sendPage(exchange, request, "Home Page", "cms-index-index", template("home.html"));
+        } else if (path.equals("/static/stub.js")) {
+            send(exchange, 200, "application/javascript", template("stub.js"));
+        } else if (path.equals("/favicon.ico")) {
+            send(exchange, 200, "image/x-icon", "");
+        } else if (path.equals("/customer/section/load/")) {
+            sendJson(exchange, sectionData(session, request.params.get("sections")));
+        } else if (path.startsWith("/checkout/cart/add/") && request.isPost()) {
+            addToCart(exchange, request);
+        } else if (path.equals("/checkout/cart/updatePost/") && request.isPost()) {
+            updateCart(exchange, request);
+        } else if (path.equals("/checkout/cart/")) {
+            sendPage(exchange, request, "Shopping Cart", "checkout-cart-index", cartPage(session));
+        } else if (path.equals("/customer/account/login/")) {
+            if (session.customer != null) {
+                redirect(exchange, "/customer/account/");
+            } else {
+                sendPage(exchange, request, "Customer Login", "customer-account-login", render(template("login.html"), Map.of("formKey", session.formKey)));
+            }
+        } else if (path.equals("/customer/account/loginPost/") && request.isPost()) {
+            login(exchange, request);
+        } else if (path.equals("/customer/account/create/")) {
+            sendPage(exchange, request, "Create New Customer Account", "customer-account-create", render(template("create.html"), Map.of("formKey", session.formKey, "firstName", "", "lastName", "", "email", "")));
+        } else if (path.equals("/customer/account/createpost/") && request.isPost()) {
+            createAccount(exchange, request);
+        } else if (path.equals("/customer/account/logout/")) {
+            session.customer = null;
+            redirect(exchange, "/");
+        } else if (path.equals("/customer/account/")) {
+            if (session.customer == null) {
+                redirect(exchange, "/customer/account/login/");
+            } else {
+                Customer customer = session.customer;
+                sendPage(exchange, request, "My Account", "customer-account-index", render(template("account.html"), Map.of("fullName", escape(customer.fullName()), "email", escape(customer.email))));
+            }
+        } else if (path.equals("/catalogsearch/result/")) {
+            String query = request.params.getOrDefault("q", "").trim();
+            sendPage(exchange, request, "Search results for: '" + query + "'", "catalogsearch-result-index", productListPage("Search results for: '" + escape(query) + "'", searchResults(query), request));
+        } else if (path.endsWith(".html") && StubCatalog.categoryTitle(path.substring(1, path.length() - 5)) != null) {
+            String category = path.substring(1, path.length() - 5);
+            sendPage(exchange, request, StubCatalog.categoryTitle(category), "catalog-category-view", productListPage(StubCatalog.categoryTitle(category), StubCatalog.inCategory(category), request));
+        } else if (path.endsWith(".html") && StubCatalog.byUrlKey(path.substring(1, path.length() - 5)).isPresent()) {
+            StubCatalog.Product product = StubCatalog.byUrlKey(path.substring(1, path.length() - 5)).get();
+            sendPage(exchange, request, product.name, "catalog-product-view", productPage(product, session));
+        } else {
+            sendPage(exchange, request, "404 Not Found", "cms-no-route", 404, "<div class=\"page-title-wrapper\"><h1 class=\"page-title\"><span class=\"base\">Whoops, our bad...</span></h1></div>");
+        }
+    }
+
+    // --- Stateful endpoints ---
+
+    private void addToCart(HttpExchange exchange, Request request) throws IOException {
+        Session session = request.session;
+        Optional<StubCatalog.Product> product = parseInt(request.params.get("product")).flatMap(StubCatalog::byId);
+        String backUrl = baseUrl() + product.map(StubCatalog.Product::path).orElse("");
+        if (!session.formKey.equals(request.params.get("form_key"))) {
+            // Like Checkout\Controller\Cart\Add, answer a form key that does not match the session with a redirect
+            redirect(exchange, backUrl);
+            return;
+        }
+        if (product.isEmpty()) {
+            sendJson(exchange, Map.of("backUrl", baseUrl()));
+            return;
+        }
+        String size = request.params.get("super_attribute[" + StubCatalog.SIZE_ATTRIBUTE_ID + "]");
+        String color = request.params.get("super_attribute[" + StubCatalog.COLOR_ATTRIBUTE_ID + "]");
+        if (!product.get().isSalable(size, color)) {
+            session.addMessage("error", product.get().configurable && (size == null || color == null) ? "You need to choose options for your item." : "The requested qty is not available");
+            sendJson(exchange, Map.of("backUrl", backUrl));
+            return;
+        }
+        int qty = parseInt(request.params.get("qty")).orElse(1);
+        session.cart().add(product.get(), product.get().configurable ? StubCatalog.SIZES.get(size) + "/" + StubCatalog.COLORS.get(color) : "", qty);
+        session.addMessage("success", "You added " + product.get().name + " to your shopping cart.");
+        sendJson(exchange, List.of());
+    }
+
+    private void updateCart(HttpExchange exchange, Request request) throws IOException {
+        Session session = request.session;
+        if (session.formKey.equals(request.params.get("form_key")) && "empty_cart".equals(request.params.get("update_cart_action"))) {
+            session.cart().clear();
+        }
+        redirect(exchange, "/checkout/cart/");
+    }
+
+    private void login(HttpExchange exchange, Request request) throws IOException {
+        Session session = request.session;
+        Customer customer = customers.get(request.params.getOrDefault("login[username]", "").trim().toLowerCase(Locale.ROOT));
+        if (!session.formKey.equals(request.params.get("form_key"))) {
+            session.addMessage("error", "Invalid Form Key. Please refresh the page.");
+            redirect(exchange, "/customer/account/login/");
+        } else if (customer == null || !customer.password.equals(request.params.get("login[password]"))) {
+            session.addMessage("error", "The account sign-in was incorrect or your account is disabled temporarily. Please wait and try again later.");
+            redirect(exchange, "/customer/account/login/");
+        } else {
+            session.logIn(customer);
+            redirect(exchange, "/customer/account/");
+        }
+    }
+
+    private void createAccount(HttpExchange exchange, Request request) throws IOException {
+        Session session = request.session;
+        String firstName = request.params.getOrDefault("firstname", "").trim();
+        String lastName = request.params.getOrDefault("lastname", "").trim();
+        String email = request.params.getOrDefault("email", "").trim().toLowerCase(Locale.ROOT);
+        String password = request.params.getOrDefault("password", "");
+        if (!session.formKey.equals(request.params.get("form_key"))) {
+            session.addMessage("error", "Invalid Form Key. Please refresh the page.");
+            redirect(exchange, "/customer/account/create/");
+        } else if (firstName.isEmpty() || lastName.isEmpty() || email.isEmpty() || password.isEmpty() || !password.equals(request.params.get("password_confirmation"))) {
+            session.addMessage("error", "Please check the required fields and try again.");
+            redirect(exchange, "/customer/account/create/");
+        } else if (customers.putIfAbsent(email, new Customer(email, password, firstName, lastName)) != null) {
+            session.addMessage("error", "There is already an account with this email address. If you are sure that it is your email address, click here to get your password and access your account.");
+            redirect(exchange, "/customer/account/create/");
+        } else {
+            session.logIn(customers.get(email));
+            session.addMessage("success", "Thank you for registering with Main Website Store.");
+            redirect(exchange, "/customer/account/");
+        }
+    }
+
+    private Map<String, Object> sectionData(Session session, String requested) {
+        Set<String> names = requested == null || requested.isEmpty() ? Set.of("cart", "customer", "messages") : Set.of(requested.split(","));
+        Map<String, Object> sections = new LinkedHashMap<>();
+        if (names.contains("cart")) {
+            Cart cart = session.cart();
+            Map<String, Object> cartSection = new LinkedHashMap<>();
+            cartSection.put("summary_count", cart.totalQty());
+            cartSection.put("subtotal", "<span class=\"price\">" + money(cart.subtotal()) + "</span>");
+            cartSection.put("subtotalAmount", String.format(Locale.ROOT, "%.2f", cart.subtotal()));
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (Cart.Line line : cart.lines()) {
+                items.add(Map.of("product_id", String.valueOf(line.product.id), "product_name", escape(line.product.name), "product_url", "/" + line.product.path(), "product_price_value", line.product.price, "qty", line.qty, "options", line.options));
+            }
+            cartSection.put("items", items);
+            sections.put("cart", cartSection);
+        }
+        if (names.contains("customer")) {
+            Map<String, Object> customer = new LinkedHashMap<>();
+            Customer current = session.customer;
+            if (current != null) {
+                customer.put("firstname", current.firstName);
+                customer.put("fullname", current.fullName());
+            }
+            sections.put("customer", customer);
+        }
+        if (names.contains("messages")) {
+            List<Map<String, String>> messages = session.takeMessages().stream().map(m -> Map.of("type", m[0], "text", m[1])).collect(Collectors.toList());
+            sections.put("messages", Map.of("messages", messages));
+        }
+        return sections;
+    }
+
+    // --- Page rendering ---
+
+    private void sendPage(HttpExchange exchange, Request request, String title, String bodyClass, String content) throws IOException {
+        sendPage(exchange, request, title, bodyClass, 200, content);
+    }
+
+    private void sendPage(HttpExchange exchange, Request request, String title, String bodyClass, int status, String content) throws IOException {
+        Session session = request.session;
+        Map<String, String> values = new HashMap<>();
+        values.put("title", escape(title));
+        values.put("bodyClass", bodyClass);
+        values.put("headerLinks", headerLinks(session.customer));
+        values.put("searchQuery", escape(request.params.getOrDefault("q", "")));
+        values.put("messages", messagesHtml(session.takeMessages()));
+        // Messages were rendered server-side, so the client only needs the cached sections
+        values.put("sections", JSON.toJson(sectionData(session, "cart,customer")).replace("</", "<\\/"));
+        values.put("content", content);
+        send(exchange, status, "text/html; charset=UTF-8", render(template("layout.html"), values));
+    }
+
+    private static String headerLinks(Customer customer) {
+        if (customer == null) {
+            return "<li class=\"greet welcome\"><span class=\"not-logged-in\">Default welcome msg!</span></li>"
+                    + "<li class=\"authorization-link\"><a href=\"/customer/account/login/\">Sign In</a></li>"
+                    + "<li><a href=\"/customer/account/create/\">Create an Account</a></li>";
+        }
+        return "<li class=\"greet welcome\"><span class=\"logged-in\">Welcome, " + escape(customer.fullName()) + "!</span></li>"
+                + "<li class=\"customer-welcome\"><span class=\"customer-name\" role=\"link\"><button type=\"button\" class=\"action switch\">Change</button></span>"
+                + "<div class=\"customer-menu\" style=\"display: none\"><ul class=\"header links\">"
+                + "<li><a href=\"/customer/account/\">My Account</a></li>"
+                + "<li class=\"link wishlist\"><a href=\"/wishlist/\">My Wish List</a></li>"
+                + "<li class=\"authorization-link\"><a href=\"/customer/account/logout/\">Sign Out</a></li>"
+                + "</ul></div></li>";
+    }
+
+    private static String messagesHtml(List<String[]> messages) {
+        if (messages.isEmpty()) return "";
+        StringBuilder html = new StringBuilder("<div class=\"messages\">");
+        for (String[] message : messages) {
+            html.append("<div role=\"alert\" class=\"message-").append(message[0]).append(' ').append(message[0]).append(" message\" data-ui-id=\"message-").append(message[0]).append("\"><div>").append(escape(message[1])).append("</div></div>");
+        }
+        return html.append("</div>").toString();
+    }
+
+    private static List<StubCatalog.Product> searchResults(String query) {
+        List<String> words = Arrays.stream(query.toLowerCase(Locale.ROOT).split("\\s+")).filter(w -> !w.isEmpty()).toList();
+        // Relevance: products matching more query words come first, ties keep catalog order
+        return StubCatalog.all().stream()
+                .filter(p -> matchingWords(p, words) > 0)
+                .sorted(Comparator.comparingInt((StubCatalog.Product p) -> matchingWords(p, words)).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private static int matchingWords(StubCatalog.Product product, List<String> words) {
+        String name = product.name.toLowerCase(Locale.ROOT);
+        return (int) words.stream().filter(name::contains).count();
+    }
+
+    private static String productListPage(String title, List<StubCatalog.Product> products, Request request) {
+        String order = request.params.getOrDefault("product_list_order", "position");
+        boolean descending = "desc".equals(request.params.get("product_list_dir"));
+        List<StubCatalog.Product> sorted = new ArrayList<>(products);
+        Comparator<StubCatalog.Product> comparator = switch (order) {
+            case "price" -> Comparator.comparingDouble(p -> p.price);
+            case "name" -> Comparator.comparing(p -> p.name);
+            default -> null;
+        };
+        if (comparator != null) {
+            sorted.sort(descending ? comparator.reversed() : comparator);
+        } else if (descending) {
+            Collections.reverse(sorted);
+        }
+
+        StringBuilder html = new StringBuilder("<div class=\"page-title-wrapper\"><h1 class=\"page-title\" id=\"page-title-heading\"><span class=\"base\" data-ui-id=\"page-title-wrapper\">")
+                .append(title).append("</span></h1></div><div class=\"columns\"><div class=\"column main\">");
+        if (sorted.isEmpty()) {
+            return html.append("<div class=\"message notice\"><div>Your search returned no results.</div></div></div></div>").toString();
+        }
+        html.append("<div class=\"toolbar toolbar-products\"><p class=\"toolbar-amount\"><span class=\"toolbar-number\">").append(sorted.size()).append("</span> Items</p>")
+                .append("<div class=\"toolbar-sorter sorter\"><label class=\"sorter-label\" for=\"sorter\">Sort By</label><select id=\"sorter\" data-role=\"sorter\" class=\"sorter-options\">");
+        for (String[] option : new String[][]{{"position", "Position"}, {"name", "Product Name"}, {"price", "Price"}}) {
+            html.append("<option value=\"").append(option[0]).append('"').append(option[0].equals(order) ? " selected=\"selected\"" : "").append('>').append(option[1]).append("</option>");
+        }
+        Map<String, String> toggled = new LinkedHashMap<>(request.params);
+        toggled.put("product_list_dir", descending ? "asc" : "desc");
+        html.append("</select><a title=\"").append(descending ? "Set Ascending Direction" : "Set Descending Direction").append("\" href=\"").append(escape(request.path + "?" + encodeParams(toggled)))
+                .append("\" class=\"action sorter-action ").append(descending ? "sort-desc" : "sort-asc").append("\"><span>").append(descending ? "Set Ascending Direction" : "Set Descending Direction").append("</span></a></div></div>");
+
+        html.append("<div class=\"products wrapper grid products-grid\"><ol class=\"products list items product-items\">");
+        for (StubCatalog.Product product : sorted) {
+            String url = "/" + product.path();
+            html.append("<li class=\"item product product-item\"><div class=\"product-item-info\" data-container=\"product-grid\">")
+                    .append("<a href=\"").append(url).append("\" class=\"product photo product-item-photo\"><span class=\"product-image-container\"></span></a>")
+                    .append("<div class=\"product details product-item-details\"><strong class=\"product name product-item-name\"><a class=\"product-item-link\" href=\"").append(url).append("\">").append(escape(product.name)).append("</a></strong>")
+                    .append("<div class=\"price-box price-final_price\" data-product-id=\"").append(product.id).append("\"><span class=\"price-container price-final_price\"><span class=\"price-wrapper\"><span class=\"price\">").append(money(product.price)).append("</span></span></span></div>")
+                    .append("<div class=\"product-item-inner\"><div class=\"product actions product-item-actions\"><div class=\"actions-primary\"><button type=\"button\" title=\"Add to Cart\" class=\"action tocart primary\"><span>Add to Cart</span></button></div></div></div>")
+                    .append("</div></div></li>");
+        }
+        return html.append("</ol></div></div></div>").toString();
+    }
+
+    private static String productPage(StubCatalog.Product product, Session session) {
+        StringBuilder html = new StringBuilder("<div class=\"columns\"><div class=\"column main\"><div class=\"product media\"><span class=\"product-image-container\"></span></div>");
+        html.append("<div class=\"product-info-main\"><div class=\"page-title-wrapper product\"><h1 class=\"page-title\"><span class=\"base\" data-ui-id=\"page-title-wrapper\" itemprop=\"name\">").append(escape(product.name)).append("</span></h1></div>");
+        html.append("<div class=\"product-info-price\"><div class=\"price-box price-final_price\" data-product-id=\"").append(product.id).append("\"><span class=\"normal-price\"><span class=\"price-container price-final_price\"><span class=\"price-wrapper\"><span class=\"price\">")
+                .append(money(product.price)).append("</span></span></span></span></div>");
+        html.append("<div class=\"product-info-stock-sku\"><div class=\"stock available\" title=\"Availability\"><span>In stock</span></div><div class=\"product attribute sku\"><strong class=\"type\">SKU</strong><div class=\"value\" itemprop=\"sku\">STUB-").append(product.id).append("</div></div></div></div>");
+        html.append("<div class=\"product-add-form\"><form action=\"/checkout/cart/add/product/").append(product.id).append("/\" method=\"post\" id=\"product_addtocart_form\">")
+                .append("<input type=\"hidden\" name=\"product\" value=\"").append(product.id).append("\">")
+                .append("<input name=\"form_key\" type=\"hidden\" value=\"").append(session.formKey).append("\">");
+        if (product.configurable) {
+            html.append("<div class=\"swatch-opt\" data-role=\"swatch-options\">");
+            appendSwatchAttribute(html, StubCatalog.SIZE_ATTRIBUTE_ID, "size", "Size", StubCatalog.SIZES);
+            appendSwatchAttribute(html, StubCatalog.COLOR_ATTRIBUTE_ID, "color", "Color", StubCatalog.COLORS);
+            html.append("</div><script type=\"text/x-magento-init\">{\"[data-role=swatch-options]\": {\"Magento_Swatches/js/swatch-renderer\": {\"jsonConfig\": ")
+                    .append(JSON.toJson(product.jsonConfig())).append("}}}</script>");
+        }
+        html.append("<div class=\"box-tocart\"><div class=\"fieldset\"><div class=\"field qty\"><label class=\"label\" for=\"qty\"><span>Qty</span></label><div class=\"control\"><input type=\"number\" name=\"qty\" id=\"qty\" min=\"0\" value=\"1\" title=\"Qty\" class=\"input-text qty\"></div></div>")
+                .append("<div class=\"actions\"><button type=\"submit\" title=\"Add to Cart\" class=\"action primary tocart\" id=\"product-addtocart-button\"><span>Add to Cart</span></button></div></div></div>");
+        return html.append("</form></div></div></div></div>").toString();
+    }
+
+    private static void appendSwatchAttribute(StringBuilder html, String attributeId, String code, String label, Map<String, String> options) {
+        html.append("<div class=\"swatch-attribute ").append(code).append("\" data-attribute-code=\"").append(code).append("\" data-attribute-id=\"").append(attributeId).append("\">")
+                .append("<span class=\"swatch-attribute-label\">").append(label).append("</span><span class=\"swatch-attribute-selected-option\"></span><div class=\"swatch-attribute-options clearfix\">");
+        options.forEach((optionId, optionLabel) -> {
+            html.append("<div class=\"swatch-option ").append(code.equals("size") ? "text" : "color").append("\" id=\"option-label-").append(code).append('-').append(attributeId).append("-item-").append(optionId)
+                    .append("\" aria-checked=\"false\" tabindex=\"0\" option-id=\"").append(optionId).append("\" option-label=\"").append(optionLabel).append("\" aria-label=\"").append(optionLabel).append("\" role=\"option\"");
+            if (code.equals("color")) {
+                html.append(" style=\"background: ").append(COLOR_CODES.getOrDefault(optionLabel, "#cccccc")).append("\"></div>");
+            } else {
+                html.append('>').append(optionLabel).append("</div>");
+            }
+        });
+        html.append("</div><input class=\"swatch-input super-attribute-select\" name=\"super_attribute[").append(attributeId).append("]\" type=\"hidden\" value=\"\"></div>");
+    }
+
+    private static String cartPage(Session session) {
+        List<Cart.Line> lines = session.cart().lines();
+        StringBuilder html = new StringBuilder("<div class=\"page-title-wrapper\"><h1 class=\"page-title\"><span class=\"base\" data-ui-id=\"page-title-wrapper\">Shopping Cart</span></h1></div><div class=\"columns\"><div class=\"column main\">");
+        if (lines.isEmpty()) {
+            return html.append("<div class=\"cart-empty cart empty\"><p>You have no items in your shopping cart.</p><p>Click <a href=\"/\">here</a> to continue shopping.</p></div></div></div>").toString();
+        }
+        html.append("<div class=\"cart-container\"><form action=\"/checkout/cart/updatePost/\" method=\"post\" id=\"form-validate\" class=\"form form-cart\"><input name=\"form_key\" type=\"hidden\" value=\"").append(session.formKey).append("\">")
+                .append("<div class=\"cart table-wrapper\"><table id=\"shopping-cart-table\" class=\"cart items data table\"><thead><tr><th class=\"col item\">Item</th><th class=\"col price\">Price</th><th class=\"col qty\">Qty</th><th class=\"col subtotal\">Subtotal</th></tr></thead>");
+        for (Cart.Line line : lines) {
+            html.append("<tbody class=\"cart item\"><tr class=\"item-info\"><td class=\"col item\"><div class=\"product-item-details\"><strong class=\"product-item-name\"><a href=\"/").append(line.product.path()).append("\">").append(escape(line.product.name)).append("</a></strong>");
+            if (!line.options.isEmpty()) {
+                String[] options = line.options.split("/");
+                html.append("<dl class=\"item-options\"><dt>Size</dt><dd>").append(options[0]).append("</dd><dt>Color</dt><dd>").append(options[1]).append("</dd></dl>");
+            }
+            html.append("</div></td><td class=\"col price\"><span class=\"price-excluding-tax\"><span class=\"cart-price\"><span class=\"price\">").append(money(line.product.price)).append("</span></span></span></td>")
+                    .append("<td class=\"col qty\"><div class=\"field qty\"><div class=\"control qty\"><input type=\"number\" class=\"input-text qty\" title=\"Qty\" value=\"").append(line.qty).append("\"></div></div></td>")
+                    .append("<td class=\"col subtotal\"><span class=\"price-excluding-tax\"><span class=\"cart-price\"><span class=\"price\">").append(money(line.product.price * line.qty)).append("</span></span></span></td></tr></tbody>");
+        }
+        String total = money(session.cart().subtotal());
+        html.append("</table></div></form><div class=\"cart-summary\"><strong class=\"summary title\">Summary</strong><div class=\"cart-totals\"><table class=\"data table totals\">")
+                .append("<tr class=\"totals sub\"><th class=\"mark\">Subtotal</th><td class=\"amount\"><span class=\"price\">").append(total).append("</span></td></tr>")
+                .append("<tr class=\"grand totals\"><th class=\"mark\"><strong>Order Total</strong></th><td class=\"amount\"><strong><span class=\"price\">").append(total).append("</span></strong></td></tr>")
+                .append("</table></div></div></div>");
+        return html.append("</div></div>").toString();
+    }
+
+    private String template(String name) {
+        return templates.computeIfAbsent(name, key -> {
+            try (InputStream in = LocalMagentoServer.class.getResourceAsStream("/stub/" + key)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing stub fixture: /stub/" + key);
+                }
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String render(String template, Map<String, String> values) {
+        String result = template;
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            result = result.replace("{{" + value.getKey() + "}}", value.getValue());
+        }
+        return result;
+    }
+
+    // --- HTTP helpers ---
+
+    private static String money(double amount) {
+        return String.format(Locale.ROOT, "$%,.2f", amount);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;").replace("'", "&#39;");
+    }
+
+    private static String encodeParams(Map<String, String> params) {
+        return params.entrySet().stream().map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8)).collect(Collectors.joining("&"));
+    }
+
+    private static Optional<Integer> parseInt(String value) {
+        try {
+            return value == null ? Optional.empty() : Optional.of(Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().set("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private static void sendJson(HttpExchange exchange, Object body) throws IOException {
+        send(exchange, 200, "application/json", JSON.toJson(body));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static Map<String, String> parseParams(String encoded, Map<String, String> into) {
+        if (encoded == null || encoded.isEmpty()) return into;
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            into.put(key, value);
+        }
+        return into;
+    }
+
+    /**
+     * A parsed request bound to its session; a new session (with cookies) is started if the client has none.
+     */
+    private class Request {
+        final String method;
+        final String path;
+        final Map<String, String> params = new LinkedHashMap<>();
+        final Session session;
+
+        Request(HttpExchange exchange) throws IOException {
+            this.method = exchange.getRequestMethod();
+            this.path = exchange.getRequestURI().getPath();
+            parseParams(exchange.getRequestURI().getRawQuery(), params);
+            if (isPost()) {
+                parseParams(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8), params);
+            }
+            Map<String, String> cookies = new HashMap<>();
+            for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+                for (String cookie : header.split(";")) {
+                    String[] parts = cookie.trim().split("=", 2);
+                    if (parts.length == 2) cookies.put(parts[0], parts[1]);
+                }
+            }
+            Session existing = sessions.get(cookies.getOrDefault(SESSION_COOKIE, ""));
+            if (existing == null) {
+                existing = newSession();
+                exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + existing.id + "; Path=/; HttpOnly");
+                exchange.getResponseHeaders().add("Set-Cookie", FORM_KEY_COOKIE + "=" + existing.formKey + "; Path=/");
+            }
+            this.session = existing;
+        }
+
+        boolean isPost() {
+            return "POST".equals(method);
+        }
+    }
+
+    /**
+     * Server-side state of one browser session. Guests have their own cart; logging in merges it
+     * into the customer's cart, which then follows the customer across sessions.
+     */
+    public static class Session {
+        public final String id = UUID.randomUUID().toString().replace("-", "");
+        public final String formKey = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        private final Cart guestCart = new Cart();
+        private final List<String[]> messages = new ArrayList<>();
+        volatile Customer customer;
+
+        public Cart cart() {
+            Customer current = customer;
+            return current == null ? guestCart : current.cart;
+        }
+
+        void logIn(Customer customer) {
+            for (Cart.Line line : guestCart.lines()) {
+                customer.cart.add(line.product, line.options, line.qty);
+            }
+            guestCart.clear();
+            this.customer = customer;
+        }
+
+        synchronized void addMessage(String type, String text) {
+            messages.add(new String[]{type, text});
+        }
+
+        synchronized List<String[]> takeMessages() {
+            List<String[]> taken = new ArrayList<>(messages);
+            messages.clear();
+            return taken;
+        }
+
+        @Override
+        public String toString() {
+            return "Session{" + "id='" + id + '\'' + ", cart=" + cart() + '}';
+        }
+    }
+
+    static class Customer {
+        final String email;
+        final String password;
+        final String firstName;
+        final String lastName;
+        final Cart cart = new Cart();
+
+        Customer(String email, String password, String firstName, String lastName) {
+            this.email = email;
+            this.password = password;
+            this.firstName = firstName;
+            this.lastName = lastName;
+        }
+
+        String fullName() {
+            return firstName + " " + lastName;
+        }
+    }
+
+    /**
+     * A cart. Adding the same product with the same options increases the line quantity.
+     */
+    public static class Cart {
+        private final List<Line> lines = new ArrayList<>();
+
+        synchronized void add(StubCatalog.Product product, String options, int qty) {
+            for (int i = 0; i < lines.size(); i++) {
+                Line line = lines.get(i);
+                if (line.product.id == product.id && line.options.equals(options)) {
+                    lines.set(i, new Line(product, options, line.qty + qty));
+                    return;
+                }
+            }
+            lines.add(new Line(product, options, qty));
+        }
+
+        synchronized void clear() {
+            lines.clear();
+        }
+
+        public synchronized List<Line> lines() {
+            return List.copyOf(lines);
+        }
+
+        public synchronized int totalQty() {
+            return lines.stream().mapToInt(l -> l.qty).sum();
+        }
+
+        public synchronized double subtotal() {
+            return lines.stream().mapToDouble(l -> l.product.price * l.qty).sum();
+        }
+
+        @Override
+        public synchronized String toString() {
+            return lines.toString();
+        }
+
+        public static class Line {
+            public final StubCatalog.Product product;
+            public final String options;
+            public final int qty;
+
+            Line(StubCatalog.Product product, String options, int qty) {
+                this.product = product;
+                this.options = options;
+                this.qty = qty;
+            }
+
+            @Override
+            public String toString() {
+                return "Line{" + "product=" + product.name + ", options='" + options + '\'' + ", qty=" + qty + '}';
+            }
+        }
+    }
+}
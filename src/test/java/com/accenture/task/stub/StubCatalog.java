@@ -0,0 +1,177 @@
+package com.accenture.task.stub;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Fixed product catalog served by {@link LocalMagentoServer}. Names, prices and categories mirror the
+ * Luma demo store closely enough for the page objects and tests to behave the same against either.
+ */
+public final class StubCatalog {
+
+    public static final String SIZE_ATTRIBUTE_ID = "143";
+    public static final String COLOR_ATTRIBUTE_ID = "93";
+
+    static final Map<String, String> SIZES = orderedMap("166", "XS", "167", "S", "168", "M", "169", "L", "170", "XL");
+    static final Map<String, String> COLORS = orderedMap("49", "Black", "50", "Blue", "53", "Gray", "56", "Orange", "58", "Red");
+
+    private static final Map<String, String> CATEGORIES = orderedMap("gear/bags", "Bags", "men/tops-men", "Tops", "women/tops-women", "Tops");
+
+    private static final List<Product> PRODUCTS = List.of(
+            simple(1, "Joust Duffle Bag", 34.00, "gear/bags"),
+            simple(2, "Strive Shoulder Pack", 32.00, "gear/bags"),
+            simple(3, "Crown Summit Backpack", 38.00, "gear/bags"),
+            simple(4, "Wayfarer Messenger Bag", 45.00, "gear/bags"),
+            simple(5, "Rival Field Messenger", 45.00, "gear/bags"),
+            simple(6, "Fusion Backpack", 59.00, "gear/bags"),
+            simple(7, "Impulse Duffle", 74.00, "gear/bags"),
+            simple(8, "Voyage Yoga Bag", 32.00, "gear/bags"),
+            configurable(101, "Cassius Sparring Tank", 18.00, "men/tops-men", "166-49"),
+            configurable(102, "Atomic Endurance Running Tee", 29.00, "men/tops-men"),
+            configurable(103, "Proteus Fitness Jackshirt", 45.00, "men/tops-men"),
+            configurable(104, "Beaumont Summit Kit", 42.00, "men/tops-men"),
+            configurable(105, "Lando Gym Jacket", 99.00, "men/tops-men"),
+            configurable(201, "Bella Tank", 29.00, "women/tops-women"),
+            configurable(202, "Breathe-Easy Tank", 34.00, "women/tops-women", "166-49", "167-49"),
+            configurable(203, "Nona Fitness Tank", 39.00, "women/tops-women"),
+            configurable(204, "Olivia 1/4 Zip Light Jacket", 77.00, "women/tops-women"),
+            configurable(205, "Juno Jacket", 77.50, "women/tops-women"));
+
+    private StubCatalog() {
+    }
+
+    public static List<Product> all() {
+        return PRODUCTS;
+    }
+
+    public static Optional<Product> byId(int id) {
+        return PRODUCTS.stream().filter(p -> p.id == id).findFirst();
+    }
+
+    public static Optional<Product> byUrlKey(String urlKey) {
+        return PRODUCTS.stream().filter(p -> p.urlKey.equals(urlKey)).findFirst();
+    }
+
+    /**
+     * @return The page title of the category with the given URL path (without ".html"), or null if there is none.
+     */
+    public static String categoryTitle(String categoryPath) {
+        return CATEGORIES.get(categoryPath);
+    }
+
+    public static List<Product> inCategory(String categoryPath) {
+        return PRODUCTS.stream().filter(p -> p.categoryPath.equals(categoryPath)).toList();
+    }
+
+    private static Product simple(int id, String name, double price, String categoryPath) {
+        return new Product(id, name, price, categoryPath, false, Set.of());
+    }
+
+    /**
+     * @param outOfStock Size/color combinations ("sizeId-colorId") without stock.
+     */
+    private static Product configurable(int id, String name, double price, String categoryPath, String... outOfStock) {
+        return new Product(id, name, price, categoryPath, true, Set.of(outOfStock));
+    }
+
+    private static Map<String, String> orderedMap(String... keyValues) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put(keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+
+    public static class Product {
+        public final int id;
+        public final String name;
+        public final double price;
+        public final String categoryPath;
+        public final boolean configurable;
+        public final String urlKey;
+        private final Set<String> outOfStock;
+
+        Product(int id, String name, double price, String categoryPath, boolean configurable, Set<String> outOfStock) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+            this.categoryPath = categoryPath;
+            this.configurable = configurable;
+            this.outOfStock = outOfStock;
+            this.urlKey = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+        }
+
+        public String path() {
+            return urlKey + ".html";
+        }
+
+        /**
+         * Some combinations are out of stock, so option pickers must intersect the attribute options
+         * like Magento's swatch renderer does.
+         */
+        public boolean isSalable(String sizeId, String colorId) {
+            if (!configurable) return true;
+            if (!SIZES.containsKey(sizeId) || !COLORS.containsKey(colorId)) return false;
+            return !outOfStock.contains(sizeId + "-" + colorId);
+        }
+
+        /**
+         * @return Child product ids of all salable size/color combinations, keyed by "sizeId-colorId".
+         */
+        public Map<String, String> salableChildren() {
+            Map<String, String> children = new LinkedHashMap<>();
+            int index = 0;
+            for (String size : SIZES.keySet()) {
+                for (String color : COLORS.keySet()) {
+                    index++;
+                    if (isSalable(size, color)) {
+                        children.put(size + "-" + color, String.valueOf(id * 100 + index));
+                    }
+                }
+            }
+            return children;
+        }
+
+        /**
+         * Builds the swatch renderer's jsonConfig with the child products per option.
+         */
+        public Map<String, Object> jsonConfig() {
+            Map<String, String> children = salableChildren();
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            attributes.put(SIZE_ATTRIBUTE_ID, attribute(SIZE_ATTRIBUTE_ID, "size", "Size", SIZES, children, true));
+            attributes.put(COLOR_ATTRIBUTE_ID, attribute(COLOR_ATTRIBUTE_ID, "color", "Color", COLORS, children, false));
+            Map<String, Object> config = new LinkedHashMap<>();
+            config.put("attributes", attributes);
+            config.put("productId", String.valueOf(id));
+            return config;
+        }
+
+        private static Map<String, Object> attribute(String id, String code, String label, Map<String, String> options, Map<String, String> children, boolean isSize) {
+            List<Map<String, Object>> optionList = new ArrayList<>();
+            options.forEach((optionId, optionLabel) -> {
+                List<String> products = new ArrayList<>();
+                children.forEach((combination, childId) -> {
+                    String[] parts = combination.split("-");
+                    if ((isSize ? parts[0] : parts[1]).equals(optionId)) products.add(childId);
+                });
+                optionList.add(Map.of("id", optionId, "label", optionLabel, "products", products));
+            });
+            Map<String, Object> attribute = new LinkedHashMap<>();
+            attribute.put("id", id);
+            attribute.put("code", code);
+            attribute.put("label", label);
+            attribute.put("options", optionList);
+            return attribute;
+        }
+
+        @Override
+        public String toString() {
+            return "Product{" + "id=" + id + ", name='" + name + '\'' + ", price=" + price + ", categoryPath='" + categoryPath + '\'' + '}';
+        }
+    }
+}
@@ -1,86 +1,152 @@
 package com.accenture.task.tests;
 
+import com.accenture.task.driver.CapabilityProfile;
+import com.accenture.task.driver.DriverContext;
+import com.accenture.task.driver.DriverFactory;
+import com.accenture.task.driver.DriverPool;
+import com.accenture.task.driver.ExecutionMode;
+import com.accenture.task.driver.ResourcePolicy;
+import com.accenture.task.driver.SessionMetrics;
+import com.accenture.task.driver.TraceRecorder;
+import com.accenture.task.driver.TrafficCache;
+import com.accenture.task.driver.WireCallCounter;
 import com.accenture.task.pageobjects.HomePage;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.accenture.task.utils.HeadedRerunExtension;
+import com.accenture.task.utils.SuiteThroughputReporter;
+import com.accenture.task.utils.TestData;
+import com.accenture.task.utils.TestEnvironment;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Method;
 import java.time.Duration;
 
-public abstract class BaseTest {
+@ExtendWith({SuiteThroughputReporter.class, HeadedRerunExtension.class})
+public abstract class BaseTest implements HeadedRerunExtension.Rerunnable {
 
-    protected static final String BASE_URL = "https://magento.softwaretestingboard.com/";
+    protected static final String BASE_URL = TestEnvironment.baseUrl();
     protected static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
     protected static final Duration TIMEOUT = Duration.ofSeconds(20);
+    private static final ExecutionMode EXECUTION_MODE = ExecutionMode.current();
     protected WebDriver driver;
     protected WebDriverWait wait;
     protected HomePage homePage;
+    /**
+     * Data seeded by the run seed and the test name, so a rerun with {@code -Dtest.data.seed} reproduces it.
+     */
+    protected TestData.Generator testData;
+    private static DriverPool driverPool;
+    private long wireCallsAtStart;
+    private TrafficCache.Stats trafficAtStart;
+    private ResourcePolicy resourcePolicy;
+    private SessionMetrics metricsAtStart;
 
     @BeforeAll
     static void setupClass() {
-        logger.info("Setting up WebDriverManager for Chrome...");
-        try {
-            WebDriverManager.chromedriver().setup();
-            logger.info("WebDriverManager setup complete.");
-        } catch (Exception e) {
-            logger.error("WebDriverManager setup failed!", e);
-            throw e;
-        }
-    }
-
-    private static ChromeOptions getChromeOptions() {
-        ChromeOptions options = new ChromeOptions();
-        // options.addArguments("--headless=new");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--window-size=1920,1080");
-        options.addArguments("--ignore-certificate-errors");
-        options.addArguments("--disable-extensions");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--remote-allow-origins=*");
-        return options;
+        DriverFactory.resolveDriverBinary();
+        driverPool = DriverPool.shared(DriverFactory::create);
     }
 
     @BeforeEach
-    void setupTest() {
-        logger.info("Initializing WebDriver...");
+    void setupTest(TestInfo testInfo) {
+        testData = TestData.forTest(getClass().getSimpleName() + "#" + testInfo.getTestMethod().map(Method::getName).orElse(testInfo.getDisplayName()));
+        logger.info("Leasing WebDriver from pool...");
         try {
-            ChromeOptions options = getChromeOptions();
-
-            driver = new ChromeDriver(options);
+            driver = driverPool.acquire();
+            wireCallsAtStart = WireCallCounter.currentThreadCalls();
+            trafficAtStart = TrafficCache.statsFor(driver).snapshot();
+            DriverContext.bind(driver);
             wait = new WebDriverWait(driver, TIMEOUT);
+            resourcePolicy = ResourcePolicy.resolve(getClass(), testInfo.getTestMethod().orElse(null));
+            resourcePolicy.applyTo(driver);
+            metricsAtStart = SessionMetrics.capture(driver).orElse(null);
+            if (EXECUTION_MODE.isRecording()) {
+                TraceRecorder.discard(driver);
+            }
 
-            driver.manage().window().maximize();
-
-            homePage = new HomePage(driver);
-            homePage.navigateToHomePage(BASE_URL);
-            logger.info("WebDriver initialized and navigated to base URL.");
+            homePage = new HomePage();
+            openStartPage();
+            logger.info("WebDriver initialized and start page opened.");
         } catch (Exception e) {
             logger.error("WebDriver initialization failed!", e);
             if (driver != null) {
-                driver.quit();
+                driverPool.invalidate(driver);
+                driver = null;
             }
+            DriverContext.unbind();
             throw e;
         }
     }
 
+    /**
+     * Opens the page each test starts from. Tests that build their own pages (e.g. benchmarks) override this.
+     */
+    protected void openStartPage() {
+        homePage.navigateToHomePage(BASE_URL);
+    }
+
     @AfterEach
-    void teardown() {
+    void teardown(TestInfo testInfo) {
+        if (WireCallCounter.isEnabled()) {
+            logger.info("'{}' issued {} WebDriver calls.", testInfo.getDisplayName(), WireCallCounter.currentThreadCalls() - wireCallsAtStart);
+        }
+        if (driver != null && resourcePolicy != null) {
+            resourcePolicy.recordCurrentPage(driver);
+        }
+        if (driver != null && metricsAtStart != null) {
+            SessionMetrics.record(EXECUTION_MODE, testInfo.getDisplayName(), metricsAtStart, driver);
+        }
+        if (driver != null && EXECUTION_MODE.isRecording()) {
+            TraceRecorder.save(driver, testInfo.getDisplayName());
+        }
+        if (TrafficCache.isEnabled() && driver != null) {
+            logger.info("'{}' traffic cache: {}.", testInfo.getDisplayName(), TrafficCache.statsFor(driver).minus(trafficAtStart));
+        }
         if (driver != null) {
-            logger.info("Quitting WebDriver...");
+            logger.info("Returning WebDriver to pool...");
             try {
-                driver.quit();
-                logger.info("WebDriver quit successfully.");
+                driverPool.release(driver);
+                logger.info("WebDriver returned to pool.");
             } catch (Exception e) {
-                logger.error("Error quitting WebDriver.", e);
+                logger.error("Error returning WebDriver to pool.", e);
             }
+            driver = null;
+        }
+        DriverContext.unbind();
+    }
+
+    /**
+     * Runs the test body once more in a fresh headed browser with trace logs, then restores the pooled
+     * headless driver for teardown. The headed browser is not pooled and is quit after its trace is saved.
+     */
+    @Override
+    public void rerunHeaded(String testName, HeadedRerunExtension.TestBody body) throws Throwable {
+        WebDriver pooledDriver = driver;
+        WebDriverWait pooledWait = wait;
+        HomePage pooledHomePage = homePage;
+        WebDriver headedDriver = DriverFactory.create(CapabilityProfile.current(), ExecutionMode.HEADED, true);
+        try {
+            driver = headedDriver;
+            wait = new WebDriverWait(headedDriver, TIMEOUT);
+            DriverContext.bind(headedDriver);
+            resourcePolicy.applyTo(headedDriver);
+            homePage = new HomePage();
+            openStartPage();
+            body.run();
+        } finally {
+            TraceRecorder.save(headedDriver, testName + "-headed");
+            headedDriver.quit();
+            driver = pooledDriver;
+            wait = pooledWait;
+            homePage = pooledHomePage;
+            DriverContext.bind(pooledDriver);
         }
     }
-}
\ No newline at end of file
+}
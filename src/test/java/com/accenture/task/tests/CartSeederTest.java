@@ -0,0 +1,70 @@
+package com.accenture.task.tests;
+
+import com.accenture.task.stub.LocalMagentoServer;
+import com.accenture.task.stub.StubCatalog;
+import com.accenture.task.utils.CartSeeder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Cookie;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Verifies the HTTP cart-seeding fast path against the local Magento stand-in; needs no browser.
+ */
+public class CartSeederTest {
+
+    private static LocalMagentoServer server;
+
+    @BeforeAll
+    static void startServer() {
+        server = LocalMagentoServer.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Seeding: simple and configurable products land in the session's cart")
+    void testSeedsSimpleAndConfigurableProducts() {
+        LocalMagentoServer.Session session = server.newSession();
+        CartSeeder seeder = new CartSeeder(server.baseUrl(), cookiesOf(session));
+
+        List<CartSeeder.SeedResult> results = seeder.seed(List.of(new CartSeeder.SeedItem("wayfarer-messenger-bag.html"), new CartSeeder.SeedItem("breathe-easy-tank.html"), new CartSeeder.SeedItem("nona-fitness-tank.html", 2, Map.of(StubCatalog.SIZE_ATTRIBUTE_ID, "168", StubCatalog.COLOR_ATTRIBUTE_ID, "50"))));
+
+        assertThat("Every item should be added", results.stream().allMatch(r -> r.success), is(true));
+        assertThat(session.cart().lines(), hasSize(3));
+        assertThat(session.cart().totalQty(), is(4));
+        // The first size/color combination is out of stock, so the seeder must pick a salable one
+        assertThat(optionsOf(session, "Breathe-Easy Tank"), is(equalTo("XS/Blue")));
+        assertThat(optionsOf(session, "Nona Fitness Tank"), is(equalTo("M/Blue")));
+    }
+
+    @Test
+    @DisplayName("Seeding: requests with a wrong form_key are rejected and reported")
+    void testReportsRejectedItems() {
+        LocalMagentoServer.Session session = server.newSession();
+        List<Cookie> cookies = List.of(new Cookie("PHPSESSID", session.id), new Cookie("form_key", "not-the-session-key"));
+
+        List<CartSeeder.SeedResult> results = new CartSeeder(server.baseUrl(), cookies).seed(List.of(new CartSeeder.SeedItem("fusion-backpack.html")));
+
+        assertThat(results.get(0).success, is(false));
+        assertThat(session.cart().lines(), is(empty()));
+    }
+
+    private static String optionsOf(LocalMagentoServer.Session session, String productName) {
+        return session.cart().lines().stream().filter(l -> l.product.name.equals(productName)).findFirst().orElseThrow().options;
+    }
+
+    private static List<Cookie> cookiesOf(LocalMagentoServer.Session session) {
+        return List.of(new Cookie("PHPSESSID", session.id), new Cookie("form_key", session.formKey));
+    }
+}
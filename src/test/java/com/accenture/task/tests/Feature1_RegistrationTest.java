@@ -1,28 +1,32 @@
 package com.accenture.task.tests;
 
+import com.accenture.task.driver.ResourcePolicy;
+import com.accenture.task.driver.ResourceProfile;
 import com.accenture.task.pageobjects.AccountPage;
 import com.accenture.task.pageobjects.CreateAccountPage;
-import com.accenture.task.utils.TestUtils;
+import com.accenture.task.utils.TestUser;
+import com.accenture.task.utils.UserPool;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Execution(ExecutionMode.CONCURRENT) // Each test leases its own driver and shares no state
+@ResourceProfile(ResourcePolicy.TEXT_ONLY) // Assertions only read form state and messages
 public class Feature1_RegistrationTest extends BaseTest {
 
-    private static final String EXISTING_EMAIL = "test_already_exists@example.com";
-    private static final String EXISTING_FIRST_NAME = "Existing";
-    private static final String EXISTING_LAST_NAME = "User";
     private static final String VALID_PASSWORD = "Password123!";
 
     @Test
-    @Order(1)
     @DisplayName("FEATURE 1 / Task 1: Verify successful registration with unique email")
     void testSuccessfulRegistration() {
-        String uniqueEmail = TestUtils.generateUniqueEmail();
-        String firstName = "TestFN" + TestUtils.generateRandomString(3);
-        String lastName = "TestLN" + TestUtils.generateRandomString(3);
+        String uniqueEmail = testData.email("testuser");
+        String firstName = testData.firstName();
+        String lastName = testData.lastName();
         logger.info("Starting successful registration test with email: {} for user: {} {}", uniqueEmail, firstName, lastName);
 
         // Use getHeader() from BasePage (via homePage)
@@ -43,18 +47,19 @@ public class Feature1_RegistrationTest extends BaseTest {
     }
 
     @Test
-    @Order(2)
     @DisplayName("FEATURE 1 / Task 2: Verify error message for existing email")
     void testRegistrationWithExistingEmail() {
-        logger.info("Starting registration failure test with existing email: {}", EXISTING_EMAIL);
+        // A pooled user is registered on the store under test, whichever store that is; only its email is used, so no lease
+        TestUser existingUser = UserPool.shared().anyUser();
+        logger.info("Starting registration failure test with existing email: {}", existingUser.email);
 
         // Use getHeader()
         CreateAccountPage createAccountPage = homePage.getHeader().clickCreateAccount();
         assertThat("Should be on Create Account page", createAccountPage.getPageTitle(), is(equalToIgnoringCase("Create New Customer Account")));
 
-        createAccountPage.enterFirstName(EXISTING_FIRST_NAME);
-        createAccountPage.enterLastName(EXISTING_LAST_NAME);
-        createAccountPage.enterEmail(EXISTING_EMAIL);
+        createAccountPage.enterFirstName(existingUser.firstName);
+        createAccountPage.enterLastName(existingUser.lastName);
+        createAccountPage.enterEmail(existingUser.email);
         createAccountPage.enterPassword(VALID_PASSWORD);
         createAccountPage.enterConfirmPassword(VALID_PASSWORD);
         createAccountPage.clickCreateAccountButton();
@@ -66,7 +71,6 @@ public class Feature1_RegistrationTest extends BaseTest {
     }
 
     @Test
-    @Order(3)
     @DisplayName("FEATURE 1 / Task 2: Verify error messages for missing mandatory fields")
     void testRegistrationWithMissingFields() {
         logger.info("Starting registration failure test with missing fields");
@@ -77,11 +81,12 @@ public class Feature1_RegistrationTest extends BaseTest {
 
         createAccountPage.clickCreateAccountButton();
 
-        assertThat("First name error expected", createAccountPage.getFieldErrorText("firstname"), is("This is a required field."));
-        assertThat("Last name error expected", createAccountPage.getFieldErrorText("lastname"), is("This is a required field."));
-        assertThat("Email error expected", createAccountPage.getFieldErrorText("email_address"), is("This is a required field."));
-        assertThat("Password error expected", createAccountPage.getFieldErrorText("password"), is("This is a required field."));
-        assertThat("Confirm Password error expected", createAccountPage.getFieldErrorText("password-confirmation"), is("This is a required field."));
+        Map<String, String> fieldErrors = createAccountPage.getFieldErrorTexts("firstname", "lastname", "email_address", "password", "password-confirmation");
+        assertThat("First name error expected", fieldErrors.get("firstname"), is("This is a required field."));
+        assertThat("Last name error expected", fieldErrors.get("lastname"), is("This is a required field."));
+        assertThat("Email error expected", fieldErrors.get("email_address"), is("This is a required field."));
+        assertThat("Password error expected", fieldErrors.get("password"), is("This is a required field."));
+        assertThat("Confirm Password error expected", fieldErrors.get("password-confirmation"), is("This is a required field."));
         assertThat("Should remain on Create Account page after submitting empty form", createAccountPage.getPageTitle(), is(equalToIgnoringCase("Create New Customer Account")));
         logger.info("Missing fields registration failure test completed.");
     }
@@ -1,15 +1,20 @@
 package com.accenture.task.tests;
 
+import com.accenture.task.driver.DriverContext;
+import com.accenture.task.driver.DriverFactory;
+import com.accenture.task.driver.ResourcePolicy;
+import com.accenture.task.driver.ResourceProfile;
 import com.accenture.task.pageobjects.*;
-import com.accenture.task.utils.TestUtils;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.accenture.task.utils.SuiteThroughputReporter;
+import com.accenture.task.utils.TestEnvironment;
+import com.accenture.task.utils.TestUser;
+import com.accenture.task.utils.UserPool;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.By;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
@@ -27,9 +32,11 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@ExtendWith(SuiteThroughputReporter.class)
+@ResourceProfile(ResourcePolicy.NO_MEDIA) // Swatches and prices are text/CSS; product images are never asserted
 public class Feature2_LoginAndCartTest {
 
-    private static final String BASE_URL = "https://magento.softwaretestingboard.com/";
+    private static final String BASE_URL = TestEnvironment.baseUrl();
     private static final Logger logger = LoggerFactory.getLogger(Feature2_LoginAndCartTest.class);
 
     private static final String CATEGORY_URL_1_ASC = BASE_URL + "gear/bags.html";
@@ -37,59 +44,42 @@ public class Feature2_LoginAndCartTest {
     private static final String CATEGORY_URL_3_MIN_MAX = BASE_URL + "women/tops-women.html";
     private static final String PARTIAL_SEARCH_TERM = "bag";
     private static final String FULL_SEARCH_TERM_PRODUCT = "Wayfarer Messenger Bag";
-    private static final String userPassword = "Password123!";
-    private static final List<ProductInfoForCart> productsExpectedInCart = new ArrayList<>();
-    private static final AtomicInteger expectedCartCount = new AtomicInteger(0);
 
-    private static String userEmail;
-    private static String userFirstName;
-    private static String userLastName;
-    private static boolean isUserLoggedIn = false;
+    // Per-class state: the PER_CLASS lifecycle gives each run of this class its own instance,
+    // so concurrently running classes never share cart expectations or login state.
+    private final List<ProductInfoForCart> productsExpectedInCart = new ArrayList<>();
+    private final AtomicInteger expectedCartCount = new AtomicInteger(0);
+
+    private UserPool.Lease userLease;
+    private String userEmail;
+    private String userPassword;
+    private String userFirstName;
+    private String userLastName;
+    private boolean isUserLoggedIn = false;
 
     private WebDriver driver;
     private WebDriverWait wait;
     private HomePage homePage;
+    private ResourcePolicy resourcePolicy;
 
     @BeforeAll
     void setupTestSuite() {
-        logger.info("Setting up WebDriverManager and registering user ONCE for Feature 2...");
-        WebDriverManager.chromedriver().setup();
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--disable-gpu");
-        options.addArguments("--window-size=1920,1080");
-        options.addArguments("--remote-allow-origins=*");
-        WebDriver setupDriver = new ChromeDriver(options);
-
-        try {
-            // Register the user needed for the tests
-            userEmail = TestUtils.generateUniqueEmail();
-            userFirstName = "Feat2FN" + TestUtils.generateRandomString(3);
-            userLastName = "Feat2LN" + TestUtils.generateRandomString(3);
-            logger.info("Registering user: {} {} ({}) with password '{}'", userFirstName, userLastName, userEmail, userPassword);
-
-            setupDriver.get(BASE_URL);
-            HomePage setupHomePage = new HomePage(setupDriver);
-            CreateAccountPage setupCreateAccountPage = setupHomePage.getHeader().clickCreateAccount();
-            AccountPage setupAccountPage = setupCreateAccountPage.registerUser(userFirstName, userLastName, userEmail, userPassword);
-
-            // Robust verification of registration success
-            assertNotNull(setupAccountPage, "Setup failed: registerUser returned null AccountPage.");
-            assertEquals("My Account", setupAccountPage.getPageTitle(), "Setup failed: Did not land on Account Page.");
-            assertThat("Setup failed: Registration success message not found.", setupAccountPage.getSuccessMessage(), containsString("Thank you for registering"));
-            logger.info("User registration successful for Feature 2.");
-
-        } catch (Exception e) {
-            logger.error("!!! FAILED TO REGISTER USER FOR FEATURE 2 TESTS !!!", e);
-            fail("User registration failed in @BeforeAll", e);
-        } finally {
-            setupDriver.quit();
-        }
-
-        // Now initialize the main driver for the actual tests
-        logger.info("Initializing main WebDriver for Feature 2 tests...");
-        driver = new ChromeDriver(options); // Use the same options
+        logger.info("Setting up the WebDriver and leasing the user ONCE for Feature 2...");
+        driver = DriverFactory.create();
         wait = new WebDriverWait(driver, Duration.ofSeconds(20));
-        driver.manage().window().maximize();
+        DriverContext.bind(driver); // Ordered tests of this class all run on the setup thread
+        resourcePolicy = ResourcePolicy.resolve(getClass(), null);
+        resourcePolicy.applyTo(driver);
+
+        // A pooled user with an empty cart, held exclusively by this class until teardown
+        userLease = UserPool.shared().lease();
+        TestUser user = userLease.user;
+        userEmail = user.email;
+        userPassword = user.password;
+        userFirstName = user.firstName;
+        userLastName = user.lastName;
+        logger.info("Using pooled user {} for Feature 2.", userEmail);
+
         homePage = new HomePage(driver); // Initialize HomePage for the tests
         homePage.navigateToHomePage(BASE_URL);
 
@@ -99,6 +89,13 @@ public class Feature2_LoginAndCartTest {
         logger.info("Main WebDriver initialized for tests.");
     }
 
+    @AfterEach
+    void recordPageLoad() {
+        if (driver != null && resourcePolicy != null) {
+            resourcePolicy.recordCurrentPage(driver);
+        }
+    }
+
     @AfterAll
     void tearDownTestSuite() {
         if (driver != null) {
@@ -106,6 +103,10 @@ public class Feature2_LoginAndCartTest {
             driver.quit();
             logger.info("Main WebDriver quit successfully.");
         }
+        DriverContext.unbind();
+        if (userLease != null) {
+            userLease.close(); // Empties the user's cart for the next lease
+        }
         productsExpectedInCart.clear();
         expectedCartCount.set(0);
         isUserLoggedIn = false;
@@ -0,0 +1,191 @@
+package com.accenture.task.tests;
+
+import com.accenture.task.driver.DriverFactory;
+import com.accenture.task.driver.WireCallCounter;
+import com.accenture.task.pageobjects.BasePage;
+import com.accenture.task.pageobjects.ShoppingCartPage;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Micro-benchmarks for page-object hot paths. They run against synthetic pages loaded from data: URLs,
+ * so they need a browser but no network. Excluded from the default run; use {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class PerformanceBenchmarkTest extends BaseTest {
+
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int SESSION_ROUNDS = 3;
+
+    @Override
+    protected void openStartPage() {
+        // Benchmarks load their own synthetic pages
+    }
+
+    @ParameterizedTest(name = "{0} cart item(s)")
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("Benchmark: bulk vs per-element cart extraction")
+    void benchmarkCartExtraction(int itemCount) {
+        driver.get(toDataUrl(syntheticCartPage(itemCount)));
+        ShoppingCartPage cartPage = new ShoppingCartPage(driver);
+
+        Map<String, ShoppingCartPage.CartItemDetails> bulkItems = cartPage.getCartItemDetails();
+        Map<String, ShoppingCartPage.CartItemDetails> perElementItems = cartPage.getCartItemDetailsPerElement();
+        assertThat("Both extraction paths should read every row", bulkItems.size(), is(itemCount));
+        assertThat("Both extraction paths should agree", bulkItems.toString(), is(equalTo(perElementItems.toString())));
+
+        double bulkMs = averageMillis(cartPage::getCartItemDetails);
+        double perElementMs = averageMillis(cartPage::getCartItemDetailsPerElement);
+        logger.info(String.format("Cart extraction with %d item(s): bulk %.1f ms, per-element %.1f ms (%.1fx).", itemCount, bulkMs, perElementMs, perElementMs / bulkMs));
+    }
+
+    @Test
+    @DisplayName("Benchmark: WebDriver calls per BasePage action")
+    void benchmarkWireCallsPerAction() {
+        Assumptions.assumeTrue(WireCallCounter.isEnabled(), "Requires -Dwebdriver.countCalls=true (set by the benchmark profile).");
+        driver.get(toDataUrl("<html><body><input id='field' class='input-text'><button id='button' class='action'>Go</button><span id='label' class='note'>Label</span></body></html>"));
+        SyntheticFormPage page = new SyntheticFormPage(driver);
+
+        long sendKeysCalls = countCalls(() -> page.type("value"));
+        long clickCalls = countCalls(page::click);
+        long getTextCalls = countCalls(page::readLabel);
+        // The previous live-DOM description issued up to four calls (id, name, tag name, class) per log line
+        long legacyDescriptionCalls = countCalls(page::describeFromDom);
+        logger.info("WebDriver calls per action: sendKeys={}, click={}, getText={}. A live-DOM element description would add up to {} calls per log line.", sendKeysCalls, clickCalls, getTextCalls, legacyDescriptionCalls);
+    }
+
+    @Test
+    @DisplayName("Benchmark: WebDriver calls with and without the locator cache")
+    void benchmarkLocatorCache() {
+        Assumptions.assumeTrue(WireCallCounter.isEnabled(), "Requires -Dwebdriver.countCalls=true (set by the benchmark profile).");
+        driver.get(toDataUrl("<html><body><input id='field' class='input-text'><button id='button' class='action'>Go</button><span id='label' class='note'>Label</span></body></html>"));
+        SyntheticFormPage cachedPage = new SyntheticFormPage(driver);
+        SyntheticFormPage uncachedPage = new SyntheticFormPage(driver);
+        PageFactory.initElements(driver, uncachedPage); // Plain PageFactory proxies look the element up on every access
+
+        // A header-style burst: the same elements are read repeatedly between two interactions
+        Runnable cachedBurst = () -> {
+            cachedPage.readLabel();
+            cachedPage.describeFromDom();
+            cachedPage.click();
+            cachedPage.readLabel();
+        };
+        Runnable uncachedBurst = () -> {
+            uncachedPage.readLabel();
+            uncachedPage.describeFromDom();
+            uncachedPage.click();
+            uncachedPage.readLabel();
+        };
+        cachedBurst.run();
+        long cachedCalls = countCalls(cachedBurst);
+        long uncachedCalls = countCalls(uncachedBurst);
+        logger.info("WebDriver calls per burst: {} with the locator cache, {} without.", cachedCalls, uncachedCalls);
+        assertThat("The locator cache should not add round trips", cachedCalls, lessThanOrEqualTo(uncachedCalls));
+    }
+
+    @Test
+    @DisplayName("Benchmark: session creation with shared vs dedicated chromedriver")
+    void benchmarkSessionCreation() {
+        // Warm up both paths so the first browser launch and the shared service start are not measured
+        DriverFactory.sessionStartNanos(true);
+        DriverFactory.sessionStartNanos(false);
+
+        long sharedNanos = 0;
+        long dedicatedNanos = 0;
+        for (int i = 0; i < SESSION_ROUNDS; i++) {
+            sharedNanos += DriverFactory.sessionStartNanos(true);
+            dedicatedNanos += DriverFactory.sessionStartNanos(false);
+        }
+        double sharedMs = sharedNanos / 1_000_000.0 / SESSION_ROUNDS;
+        double dedicatedMs = dedicatedNanos / 1_000_000.0 / SESSION_ROUNDS;
+        logger.info(String.format("Session creation: shared chromedriver %.0f ms, dedicated chromedriver %.0f ms (%.0f ms saved per session).", sharedMs, dedicatedMs, dedicatedMs - sharedMs));
+    }
+
+    private static long countCalls(Runnable action) {
+        long before = WireCallCounter.currentThreadCalls();
+        action.run();
+        return WireCallCounter.currentThreadCalls() - before;
+    }
+
+    private static double averageMillis(Runnable action) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            action.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            action.run();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+    }
+
+    private static String toDataUrl(String html) {
+        return "data:text/html;charset=utf-8," + URLEncoder.encode(html, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static String syntheticCartPage(int itemCount) {
+        StringBuilder html = new StringBuilder("<html><body><h1 class='page-title'><span class='base'>Shopping Cart</span></h1>");
+        html.append("<table id='shopping-cart-table'>");
+        for (int i = 1; i <= itemCount; i++) {
+            String price = String.format("$%d.00", 10 + i);
+            html.append("<tbody class='cart item'><tr>")
+                    .append("<td class='col item'><strong class='product-item-name'><a href='#'>Synthetic Product ").append(i).append("</a></strong></td>")
+                    .append("<td class='col price'><span class='cart-price'><span class='price'>").append(price).append("</span></span></td>")
+                    .append("<td class='col qty'><input class='qty' value='1'></td>")
+                    .append("<td class='col subtotal'><span class='cart-price'><span class='price'>").append(price).append("</span></span></td>")
+                    .append("</tr></tbody>");
+        }
+        html.append("</table><table><tr class='grand totals'><td><span class='price'>$0.00</span></td></tr></table></body></html>");
+        return html.toString();
+    }
+
+    /**
+     * Minimal page object exposing BasePage actions to the benchmark.
+     */
+    static class SyntheticFormPage extends BasePage {
+        @FindBy(id = "field")
+        private WebElement field;
+        @FindBy(id = "button")
+        private WebElement button;
+        @FindBy(id = "label")
+        private WebElement label;
+
+        SyntheticFormPage(WebDriver driver) {
+            super(driver);
+        }
+
+        void type(String text) {
+            sendKeysToElement(field, text);
+        }
+
+        void click() {
+            clickElement(button);
+        }
+
+        void readLabel() {
+            getTextFromElement(label);
+        }
+
+        void describeFromDom() {
+            label.getAttribute("id");
+            label.getAttribute("name");
+            label.getTagName();
+            label.getAttribute("class");
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.accenture.task.tests;
+
+import com.accenture.task.utils.TestData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Verifies the test data generators; needs no browser.
+ */
+public class TestDataTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestDataTest.class);
+    private static final int THREADS = 8;
+
+    @Test
+    @DisplayName("Test data: emails generated on parallel threads never collide")
+    void testUniqueEmailsAcrossThreads() throws InterruptedException {
+        int perThread = 10_000;
+        Set<String> emails = ConcurrentHashMap.newKeySet();
+        runOnThreads(THREADS, () -> {
+            for (int i = 0; i < perThread; i++) {
+                emails.add(TestData.uniqueEmail("testuser"));
+            }
+        });
+
+        assertThat(emails, hasSize(THREADS * perThread));
+        assertThat(emails.iterator().next(), matchesPattern("testuser\\.[a-z0-9]+\\.w\\d+\\.\\d+@example\\.com"));
+    }
+
+    @Test
+    @DisplayName("Test data: the same test name yields the same data within a run")
+    void testSeededGeneratorIsReproducible() {
+        TestData.Generator first = TestData.forTest("Feature1_RegistrationTest#testSuccessfulRegistration");
+        TestData.Generator second = TestData.forTest("Feature1_RegistrationTest#testSuccessfulRegistration");
+        TestData.Generator other = TestData.forTest("Feature1_RegistrationTest#testRegistrationWithMissingFields");
+
+        List<String> firstValues = List.of(first.firstName(), first.lastName(), first.password(), first.address().toString());
+        List<String> secondValues = List.of(second.firstName(), second.lastName(), second.password(), second.address().toString());
+        List<String> otherValues = List.of(other.firstName(), other.lastName(), other.password(), other.address().toString());
+        assertThat(secondValues, is(equalTo(firstValues)));
+        assertThat(otherValues, is(not(equalTo(firstValues))));
+    }
+
+    @Test
+    @DisplayName("Test data: names, passwords and addresses pass Magento's validation")
+    void testValuesAreMagentoValid() {
+        TestData.Generator data = TestData.random();
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(data.firstName(), matchesPattern("[A-Za-z]+"));
+            assertThat(data.lastName(), matchesPattern("[A-Za-z]+"));
+            String password = data.password();
+            assertThat(password.length(), is(12));
+            assertThat(password, allOf(matchesPattern(".*[a-z].*"), matchesPattern(".*[A-Z].*"), matchesPattern(".*[0-9].*"), matchesPattern(".*[^A-Za-z0-9].*")));
+            TestData.Address address = data.address();
+            assertThat(address.postcode, matchesPattern("\\d{5}"));
+            assertThat(address.telephone, matchesPattern("\\d{10}"));
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: test data generation throughput under contention")
+    void benchmarkGenerationThroughput() throws InterruptedException {
+        for (int threads : new int[]{1, THREADS}) {
+            LongAdder generated = new LongAdder();
+            long durationNanos = TimeUnit.MILLISECONDS.toNanos(500);
+            long start = System.nanoTime();
+            runOnThreads(threads, () -> {
+                TestData.Generator data = TestData.random();
+                long count = 0;
+                while (System.nanoTime() - start < durationNanos) {
+                    TestData.uniqueEmail("testuser");
+                    data.firstName();
+                    data.password();
+                    count++;
+                }
+                generated.add(count);
+            });
+            double seconds = (System.nanoTime() - start) / 1e9;
+            logger.info(String.format("Test data with %d thread(s): %,.0f users/s.", threads, generated.sum() / seconds));
+        }
+    }
+
+    private static void runOnThreads(int threads, Runnable task) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(threads);
+        List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    synchronized (failures) {
+                        failures.add(t);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "test-data-" + i);
+            thread.start();
+        }
+        assertThat("Threads should finish in time", done.await(30, TimeUnit.SECONDS), is(true));
+        assertThat(failures, is(empty()));
+    }
+}
@@ -0,0 +1,271 @@
+package com.accenture.task.utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Seeds a customer's cart over HTTP, bypassing the product page UI. Requests are sent with the browser's
+ * session cookies and form_key, so the items show up in that browser's cart. Product pages of a batch are
+ * resolved concurrently; add-to-cart posts run with {@code cart.seed.postConcurrency} (default 1, since
+ * Magento updates the quote of one session non-atomically).
+ * Use this only for tests that verify the cart, not the add-to-cart UI itself.
+ */
+public class CartSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartSeeder.class);
+    private static final Json JSON = new Json();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int RESOLVE_CONCURRENCY = Integer.getInteger("cart.seed.resolveConcurrency", 4);
+    private static final int POST_CONCURRENCY = Integer.getInteger("cart.seed.postConcurrency", 1);
+    private static final Pattern PRODUCT_ID_PATTERN = Pattern.compile("name=\"product\"\\s+value=\"(\\d+)\"");
+    private static final String JSON_CONFIG_MARKER = "\"jsonConfig\":";
+
+    private final String baseUrl;
+    private final String cookieHeader;
+    private final String formKey;
+    private final HttpClient httpClient;
+
+    /**
+     * @param baseUrl Store base URL, e.g. "https://host/".
+     * @param cookies Session cookies of the customer whose cart should be seeded; must include form_key.
+     */
+    public CartSeeder(String baseUrl, Collection<Cookie> cookies) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.cookieHeader = cookies.stream().map(c -> c.getName() + "=" + c.getValue()).collect(Collectors.joining("; "));
+        this.formKey = cookies.stream().filter(c -> c.getName().equals("form_key")).map(Cookie::getValue).findFirst().orElseThrow(() -> new IllegalArgumentException("Session cookies do not contain a form_key."));
+        this.httpClient = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).followRedirects(HttpClient.Redirect.NEVER).build();
+    }
+
+    /**
+     * Creates a seeder for the session of a browser that is currently on the store.
+     */
+    public static CartSeeder forDriver(WebDriver driver, String baseUrl) {
+        return new CartSeeder(baseUrl, driver.manage().getCookies());
+    }
+
+    /**
+     * Adds all items to the cart.
+     *
+     * @param items The items to add.
+     * @return One result per item, in the same order.
+     */
+    public List<SeedResult> seed(List<SeedItem> items) {
+        long start = System.nanoTime();
+        ExecutorService resolvers = Executors.newFixedThreadPool(Math.max(1, Math.min(RESOLVE_CONCURRENCY, items.size())));
+        ExecutorService posters = Executors.newFixedThreadPool(Math.max(1, POST_CONCURRENCY));
+        try {
+            List<CompletableFuture<SeedResult>> futures = new ArrayList<>();
+            for (SeedItem item : items) {
+                futures.add(CompletableFuture.supplyAsync(() -> resolve(item), resolvers).thenApplyAsync(form -> post(item, form), posters).exceptionally(e -> new SeedResult(item, false, rootMessage(e))));
+            }
+            List<SeedResult> results = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+            long added = results.stream().filter(r -> r.success).count();
+            logger.info("Seeded {}/{} cart items over HTTP in {} ms.", added, items.size(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+            return results;
+        } finally {
+            resolvers.shutdownNow();
+            posters.shutdownNow();
+        }
+    }
+
+    /**
+     * Adds all items and fails if any of them could not be added.
+     */
+    public void seedAll(List<SeedItem> items) {
+        List<SeedResult> failures = seed(items).stream().filter(r -> !r.success).collect(Collectors.toList());
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Could not seed cart items: " + failures);
+        }
+    }
+
+    /**
+     * Drops Magento's cached customer sections in the browser so the header and minicart reload
+     * the cart from the server on the next page load.
+     */
+    public static void invalidateCustomerData(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript("try { window.localStorage.removeItem('mage-cache-storage'); window.localStorage.removeItem('mage-cache-storage-section-invalidation'); } catch (e) {}");
+        driver.manage().deleteCookieNamed("mage-cache-sessid");
+    }
+
+    private ProductForm resolve(SeedItem item) {
+        String html = send(HttpRequest.newBuilder(URI.create(absolute(item.productUrl))).GET()).body();
+        Matcher productId = PRODUCT_ID_PATTERN.matcher(html);
+        if (!productId.find()) {
+            throw new IllegalStateException("No add-to-cart form found on " + item.productUrl);
+        }
+        Map<String, String> superAttributes = new LinkedHashMap<>(item.superAttributes);
+        if (superAttributes.isEmpty()) {
+            superAttributes.putAll(firstSalableCombination(html));
+        }
+        logger.debug("Resolved {} to product {} with options {}.", item.productUrl, productId.group(1), superAttributes);
+        return new ProductForm(productId.group(1), superAttributes);
+    }
+
+    private SeedResult post(SeedItem item, ProductForm form) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("form_key", formKey);
+        fields.put("product", form.productId);
+        fields.put("qty", String.valueOf(item.quantity));
+        form.superAttributes.forEach((attribute, option) -> fields.put("super_attribute[" + attribute + "]", option));
+        String body = fields.entrySet().stream().map(e -> encode(e.getKey()) + "=" + encode(e.getValue())).collect(Collectors.joining("&"));
+
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "checkout/cart/add/product/" + form.productId + "/")).header("Content-Type", "application/x-www-form-urlencoded").header("X-Requested-With", "XMLHttpRequest").POST(HttpRequest.BodyPublishers.ofString(body)));
+        // The AJAX add returns a JSON object; Magento only includes backUrl when the product could not be added,
+        // and redirects instead when it rejects the form key
+        boolean added = response.statusCode() == 200 && !response.body().contains("\"backUrl\"");
+        String detail = response.headers().firstValue("Location").map(location -> "redirect to " + location).orElse(response.body());
+        if (!added) {
+            logger.warn("Add-to-cart for {} was rejected (HTTP {}): {}", item.productUrl, response.statusCode(), detail);
+        }
+        return new SeedResult(item, added, added ? "" : "HTTP " + response.statusCode() + ": " + detail);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) {
+        try {
+            return httpClient.send(request.header("Cookie", cookieHeader).timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Picks one option per configurable attribute such that all picked options share a child product.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> firstSalableCombination(String html) {
+        int marker = html.indexOf(JSON_CONFIG_MARKER);
+        if (marker < 0) {
+            return Map.of(); // Simple product
+        }
+        Map<String, Object> jsonConfig = JSON.toType(balancedObject(html, html.indexOf('{', marker)), Json.MAP_TYPE);
+        Map<String, Map<String, Object>> attributes = (Map<String, Map<String, Object>>) jsonConfig.get("attributes");
+        Map<String, String> chosen = new LinkedHashMap<>();
+        Set<String> candidates = null;
+        for (Map.Entry<String, Map<String, Object>> attribute : attributes.entrySet()) {
+            for (Map<String, Object> option : (List<Map<String, Object>>) attribute.getValue().get("options")) {
+                Set<String> products = new HashSet<>((List<String>) option.get("products"));
+                if (candidates != null) {
+                    products.retainAll(candidates);
+                }
+                if (!products.isEmpty()) {
+                    chosen.put(attribute.getKey(), String.valueOf(option.get("id")));
+                    candidates = products;
+                    break;
+                }
+            }
+            if (!chosen.containsKey(attribute.getKey())) {
+                throw new IllegalStateException("No salable option for attribute " + attribute.getKey());
+            }
+        }
+        return chosen;
+    }
+
+    private static String balancedObject(String text, int openBrace) {
+        int depth = 0;
+        boolean inString = false;
+        for (int i = openBrace; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (inString) {
+                if (c == '\\') i++;
+                else if (c == '"') inString = false;
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return text.substring(openBrace, i + 1);
+            }
+        }
+        throw new IllegalStateException("Unterminated jsonConfig object.");
+    }
+
+    private String absolute(String url) {
+        return url.startsWith("http") ? url : baseUrl + (url.startsWith("/") ? url.substring(1) : url);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.toString();
+    }
+
+    private static class ProductForm {
+        final String productId;
+        final Map<String, String> superAttributes;
+
+        ProductForm(String productId, Map<String, String> superAttributes) {
+            this.productId = productId;
+            this.superAttributes = superAttributes;
+        }
+    }
+
+    /**
+     * A product to add: its page URL (absolute or relative to the base URL), quantity and, optionally,
+     * explicit configurable options (attribute id to option id). Without options the first salable
+     * combination is used, like selecting the first available size and color in the UI.
+     */
+    public static class SeedItem {
+        public final String productUrl;
+        public final int quantity;
+        public final Map<String, String> superAttributes;
+
+        public SeedItem(String productUrl, int quantity, Map<String, String> superAttributes) {
+            this.productUrl = productUrl;
+            this.quantity = quantity;
+            this.superAttributes = superAttributes;
+        }
+
+        public SeedItem(String productUrl) {
+            this(productUrl, 1, Map.of());
+        }
+
+        @Override
+        public String toString() {
+            return "SeedItem{" + "productUrl='" + productUrl + '\'' + ", quantity=" + quantity + ", superAttributes=" + superAttributes + '}';
+        }
+    }
+
+    public static class SeedResult {
+        public final SeedItem item;
+        public final boolean success;
+        public final String message;
+
+        public SeedResult(SeedItem item, boolean success, String message) {
+            this.item = item;
+            this.success = success;
+            this.message = message;
+        }
+
+        @Override
+        public String toString() {
+            return "SeedResult{" + "item=" + item + ", success=" + success + ", message='" + message + '\'' + '}';
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.accenture.task.utils;
+
+import com.accenture.task.driver.ExecutionMode;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.opentest4j.TestAbortedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+/**
+ * JUnit extension that re-runs a test which failed in a headless mode once more in a headed browser with
+ * trace logs, so the failure can be debugged from the saved trace. The original failure is always reported;
+ * the outcome of the headed run is logged and attached to it as a suppressed exception. Tests aborted by an
+ * assumption are not re-run, and no test is re-run when there is no display for a headed browser.
+ * Disabled with {@code -Dexecution.rerunHeaded=false}.
+ */
+public class HeadedRerunExtension implements InvocationInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeadedRerunExtension.class);
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("execution.rerunHeaded", "true"));
+    private static final boolean DISPLAY_AVAILABLE = hasDisplay();
+
+    /**
+     * Implemented by test classes that can swap in a headed browser for one re-run of a test.
+     */
+    public interface Rerunnable {
+        void rerunHeaded(String testName, TestBody body) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface TestBody {
+        void run() throws Throwable;
+    }
+
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext, ExtensionContext extensionContext) throws Throwable {
+        try {
+            invocation.proceed();
+        } catch (TestAbortedException aborted) {
+            throw aborted;
+        } catch (Throwable failure) {
+            Object target = invocationContext.getTarget().orElse(null);
+            if (!ENABLED || !ExecutionMode.current().isHeadless() || !(target instanceof Rerunnable)) {
+                throw failure;
+            }
+            String testName = extensionContext.getDisplayName();
+            if (!DISPLAY_AVAILABLE) {
+                logger.info("'{}' failed headless; no display is available, so it is not re-run headed.", testName);
+                throw failure;
+            }
+            logger.info("'{}' failed headless, re-running it headed with a trace...", testName);
+            try {
+                ((Rerunnable) target).rerunHeaded(testName, () -> invoke(invocationContext, target));
+                logger.warn("'{}' passed when re-run headed; the failure is headless-specific or flaky.", testName);
+            } catch (Throwable rerunFailure) {
+                logger.info("'{}' also failed headed.", testName);
+                failure.addSuppressed(rerunFailure);
+            }
+            throw failure;
+        }
+    }
+
+    /**
+     * Windows and macOS always have a desktop; elsewhere a headed Chrome needs an X11 or Wayland display.
+     */
+    private static boolean hasDisplay() {
+        String os = System.getProperty("os.name", "").toLowerCase(Locale.ROOT);
+        if (os.contains("win") || os.contains("mac")) {
+            return true;
+        }
+        return System.getenv("DISPLAY") != null || System.getenv("WAYLAND_DISPLAY") != null;
+    }
+
+    private static void invoke(ReflectiveInvocationContext<Method> invocationContext, Object target) throws Throwable {
+        Method method = invocationContext.getExecutable();
+        method.setAccessible(true);
+        try {
+            method.invoke(target, invocationContext.getArguments().toArray());
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.accenture.task.utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Caches authenticated Magento sessions on disk, per user, under the local cache directory. The {@link UserPool}
+ * stores the session of every user it logs in over HTTP and reuses it on later leases and runs for as long as
+ * the store still accepts it, instead of logging in again.
+ */
+public class SessionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionCache.class);
+    private static final Json JSON = new Json();
+
+    private final Path directory;
+
+    public SessionCache(String baseUrl) {
+        this.directory = TestUtils.localCachePath("sessions", URI.create(baseUrl).getAuthority().replace(':', '_'));
+    }
+
+    /**
+     * Loads a persisted session.
+     *
+     * @param key The user alias or email the session was captured under.
+     * @return The session, or empty if none is stored or it cannot be read.
+     */
+    public Optional<StoredSession> load(String key) {
+        Path file = fileFor(key);
+        if (!Files.exists(file)) {
+            logger.debug("No cached session for '{}'.", key);
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(StoredSession.fromJson(JSON.toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE)));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not read cached session for '{}', ignoring it.", key, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Persists the cookies of an HTTP login.
+     *
+     * @param key     The alias or email to store the session under.
+     * @param user    The user the session belongs to; only the email is stored.
+     * @param cookies The cookies that authenticate the session.
+     * @return The stored session.
+     */
+    public StoredSession store(String key, TestUser user, List<Cookie> cookies) {
+        StoredSession session = new StoredSession(user.email, cookies, System.currentTimeMillis());
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(fileFor(key), JSON.toJson(session.toJson()), StandardCharsets.UTF_8);
+            logger.info("Captured session for '{}' ({} cookies, form_key {}).", key, cookies.size(), session.getFormKey() == null ? "missing" : "present");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not persist session for '" + key + "'", e);
+        }
+        return session;
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(key.replaceAll("[^A-Za-z0-9._@-]", "_") + ".json");
+    }
+
+    /**
+     * A captured session: the email of the user it belongs to and the cookies that authenticate it.
+     * Passwords are not stored with the session.
+     */
+    public static class StoredSession {
+        public final String email;
+        public final List<Cookie> cookies;
+        public final long capturedAtMillis;
+
+        public StoredSession(String email, List<Cookie> cookies, long capturedAtMillis) {
+            this.email = email;
+            this.cookies = cookies;
+            this.capturedAtMillis = capturedAtMillis;
+        }
+
+        /**
+         * @return Magento's form_key for this session, needed for POST requests, or null if it was not set.
+         */
+        public String getFormKey() {
+            return getCookieValue("form_key");
+        }
+
+        public String getCookieValue(String name) {
+            for (Cookie cookie : cookies) {
+                if (cookie.getName().equals(name)) {
+                    return cookie.getValue();
+                }
+            }
+            return null;
+        }
+
+        Map<String, Object> toJson() {
+            List<Map<String, Object>> cookieList = new ArrayList<>();
+            for (Cookie cookie : cookies) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("name", cookie.getName());
+                map.put("value", cookie.getValue());
+                map.put("domain", cookie.getDomain());
+                map.put("path", cookie.getPath());
+                map.put("secure", cookie.isSecure());
+                map.put("httpOnly", cookie.isHttpOnly());
+                map.put("expiry", cookie.getExpiry() == null ? null : cookie.getExpiry().getTime());
+                map.put("sameSite", cookie.getSameSite());
+                cookieList.add(map);
+            }
+            Map<String, Object> json = new HashMap<>();
+            json.put("email", email);
+            json.put("capturedAt", capturedAtMillis);
+            json.put("cookies", cookieList);
+            return json;
+        }
+
+        @SuppressWarnings("unchecked")
+        static StoredSession fromJson(Map<String, Object> json) {
+            List<Cookie> cookies = new ArrayList<>();
+            for (Map<String, Object> map : (List<Map<String, Object>>) json.get("cookies")) {
+                Number expiry = (Number) map.get("expiry");
+                cookies.add(new Cookie((String) map.get("name"), (String) map.get("value"), (String) map.get("domain"), (String) map.get("path"), expiry == null ? null : new Date(expiry.longValue()), Boolean.TRUE.equals(map.get("secure")), Boolean.TRUE.equals(map.get("httpOnly")), (String) map.get("sameSite")));
+            }
+            return new StoredSession((String) json.get("email"), cookies, ((Number) json.get("capturedAt")).longValue());
+        }
+    }
+}
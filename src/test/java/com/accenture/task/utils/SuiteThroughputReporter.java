@@ -0,0 +1,81 @@
+package com.accenture.task.utils;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JUnit extension that logs the wall-clock time and throughput of the whole run once all
+ * test classes have finished. Used to compare the suite at different worker counts, e.g.
+ * {@code -Djunit.jupiter.execution.parallel.config.fixed.parallelism=4}. Other components add their
+ * end-of-run summaries with {@link #addSummary(String, Runnable)}; they are logged at the same point,
+ * which unlike a JVM shutdown hook is reliably captured in forked surefire runs.
+ */
+public class SuiteThroughputReporter implements BeforeAllCallback, AfterEachCallback {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuiteThroughputReporter.class);
+    private static final String PARALLELISM_KEY = "junit.jupiter.execution.parallel.config.fixed.parallelism";
+    private static final Map<String, Runnable> SUMMARIES = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /**
+     * Registers a summary to log once the run has finished. Registering the same name again replaces it.
+     *
+     * @param name       Name of the summary, used in the log if it fails.
+     * @param logSummary Logs the summary.
+     */
+    public static void addSummary(String name, Runnable logSummary) {
+        SUMMARIES.put(name, logSummary);
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        suiteTimer(context);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        suiteTimer(context).completedTests.incrementAndGet();
+    }
+
+    private SuiteTimer suiteTimer(ExtensionContext context) {
+        String parallelism = context.getConfigurationParameter(PARALLELISM_KEY).orElse("1");
+        boolean parallel = context.getConfigurationParameter("junit.jupiter.execution.parallel.enabled").map(Boolean::parseBoolean).orElse(false);
+        return context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL).getOrComputeIfAbsent(SuiteTimer.class, key -> new SuiteTimer(parallel ? parallelism : "1"), SuiteTimer.class);
+    }
+
+    private static class SuiteTimer implements ExtensionContext.Store.CloseableResource {
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger completedTests = new AtomicInteger();
+        private final String workers;
+
+        SuiteTimer(String workers) {
+            this.workers = workers;
+        }
+
+        @Override
+        public void close() {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            double testsPerMinute = elapsedMs == 0 ? 0 : completedTests.get() * 60_000.0 / elapsedMs;
+            logger.info(String.format("Suite finished with %s worker(s): %d tests in %.1f s (%.2f tests/min).", workers, completedTests.get(), elapsedMs / 1000.0, testsPerMinute));
+            Map<String, Runnable> summaries;
+            synchronized (SUMMARIES) {
+                summaries = new LinkedHashMap<>(SUMMARIES);
+            }
+            summaries.forEach((name, summary) -> {
+                try {
+                    summary.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Could not log the {} summary.", name, e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.accenture.task.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+/**
+ * Test data that satisfies Magento's storefront validation. Unique identifiers combine a run id with a
+ * per-thread worker number and counter, so parallel tests never collide and need no shared lock. Random
+ * values come from {@link ThreadLocalRandom}, or from {@link #forTest(String)} for a {@link SplittableRandom}
+ * seeded per test: set {@code -Dtest.data.seed} to the run seed logged at startup to regenerate the same
+ * names, passwords and addresses.
+ */
+public final class TestData {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestData.class);
+
+    /**
+     * Short id of this JVM run, e.g. "lq3k9z4f1ekx7": start time, process id and a random suffix, so forks
+     * started in the same millisecond differ by pid and runs on different hosts by the suffix.
+     */
+    public static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36) + Long.toString(ProcessHandle.current().pid(), 36) + Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36), 36);
+    private static final long RUN_SEED = Long.getLong("test.data.seed", ThreadLocalRandom.current().nextLong());
+
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final String LOWER = "abcdefghijkmnopqrstuvwxyz";
+    private static final String UPPER = "ABCDEFGHJKLMNPQRSTUVWXYZ";
+    private static final String DIGITS = "23456789";
+    // Magento counts any non-alphanumeric character as special; these three are left as-is by both URL and form encoding
+    private static final String SPECIAL = "-_.";
+    private static final String[] FIRST_NAMES = {"Alex", "Maria", "John", "Sofia", "Liam", "Emma", "Noah", "Olivia", "Lucas", "Mia", "Ethan", "Ava"};
+    private static final String[] LAST_NAMES = {"Smith", "Garcia", "Miller", "Novak", "Schmidt", "Rossi", "Dubois", "Silva", "Kowalski", "Jensen", "Murphy", "Costa"};
+    private static final String[] STREETS = {"Main Street", "Oak Avenue", "Maple Drive", "Cedar Lane", "Elm Street", "Park Road"};
+    private static final String[][] CITIES = {{"Austin", "Texas", "787"}, {"Denver", "Colorado", "802"}, {"Portland", "Oregon", "972"}, {"Columbus", "Ohio", "432"}, {"Raleigh", "North Carolina", "276"}};
+
+    private static final AtomicInteger WORKERS = new AtomicInteger();
+    private static final ThreadLocal<Worker> WORKER = ThreadLocal.withInitial(() -> new Worker(WORKERS.incrementAndGet()));
+
+    static {
+        logger.info("Test data run id {}, seed {} (replay with -Dtest.data.seed={}).", RUN_ID, RUN_SEED, RUN_SEED);
+    }
+
+    private TestData() {
+    }
+
+    /**
+     * @return An identifier unique within this run and across runs, e.g. "lq3k9z4f-w2-17". No two threads share a counter.
+     */
+    public static String uniqueId() {
+        Worker worker = WORKER.get();
+        return RUN_ID + "-w" + worker.number + "-" + (++worker.counter);
+    }
+
+    /**
+     * @param prefix Local-part prefix, e.g. "testuser".
+     * @return A unique address like "testuser.lq3k9z4f.w2.17@example.com".
+     */
+    public static String uniqueEmail(String prefix) {
+        return prefix + "." + uniqueId().replace('-', '.') + "@example.com";
+    }
+
+    /**
+     * @return Random letters from the calling thread's {@link ThreadLocalRandom}.
+     */
+    public static String randomString(int length) {
+        return letters(ThreadLocalRandom.current(), length);
+    }
+
+    /**
+     * Returns a generator whose values depend only on the run seed and the test name, so a failing test can be
+     * rerun with the same data. Use one generator per test; it is not thread-safe.
+     *
+     * @param testName A stable name, e.g. the class and method name.
+     */
+    public static Generator forTest(String testName) {
+        long seed = RUN_SEED ^ mix(testName.hashCode());
+        logger.debug("Test data seed for '{}': {}", testName, seed);
+        return new Generator(new SplittableRandom(seed));
+    }
+
+    /**
+     * @return A generator backed by the calling thread's {@link ThreadLocalRandom}, for data that need not be
+     * reproducible. Use it on the calling thread only.
+     */
+    public static Generator random() {
+        return new Generator(ThreadLocalRandom.current());
+    }
+
+    private static String letters(RandomGenerator random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        }
+        return new String(chars);
+    }
+
+    private static long mix(long value) {
+        // SplitMix64 finalizer, so that similar test names get unrelated seeds
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    private static final class Worker {
+        final int number;
+        long counter;
+
+        Worker(int number) {
+            this.number = number;
+        }
+    }
+
+    /**
+     * Generates values that pass Magento's customer and address validation.
+     */
+    public static final class Generator {
+        private final RandomGenerator random;
+
+        private Generator(RandomGenerator random) {
+            this.random = random;
+        }
+
+        public String letters(int length) {
+            return TestData.letters(random, length);
+        }
+
+        /**
+         * @return A first name of letters only, with a random suffix so names differ between users.
+         */
+        public String firstName() {
+            return pick(FIRST_NAMES) + letters(3).toLowerCase(Locale.ROOT);
+        }
+
+        public String lastName() {
+            return pick(LAST_NAMES) + letters(3).toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * @return A unique email; the identifier part is not seeded, since it must differ between runs.
+         */
+        public String email(String prefix) {
+            return uniqueEmail(prefix);
+        }
+
+        /**
+         * Magento requires at least 8 characters from at least three of the classes lower case, upper case,
+         * digits and special characters; this uses all four.
+         *
+         * @param length Total length, at least 8.
+         */
+        public String password(int length) {
+            if (length < 8) {
+                throw new IllegalArgumentException("Magento passwords need at least 8 characters, got " + length);
+            }
+            char[] chars = new char[length];
+            chars[0] = pick(LOWER);
+            chars[1] = pick(UPPER);
+            chars[2] = pick(DIGITS);
+            chars[3] = pick(SPECIAL);
+            String all = LOWER + UPPER + DIGITS + SPECIAL;
+            for (int i = 4; i < length; i++) {
+                chars[i] = pick(all);
+            }
+            // Shuffle so the character classes are not always in the same positions
+            for (int i = length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                char swap = chars[i];
+                chars[i] = chars[j];
+                chars[j] = swap;
+            }
+            return new String(chars);
+        }
+
+        public String password() {
+            return password(12);
+        }
+
+        public Address address() {
+            String[] city = CITIES[random.nextInt(CITIES.length)];
+            String street = (1 + random.nextInt(9899)) + " " + pick(STREETS);
+            String postcode = city[2] + String.format("%02d", random.nextInt(100));
+            String telephone = "555" + String.format("%07d", random.nextInt(10_000_000));
+            return new Address(street, city[0], city[1], postcode, "US", telephone);
+        }
+
+        private String pick(String[] values) {
+            return values[random.nextInt(values.length)];
+        }
+
+        private char pick(String characters) {
+            return characters.charAt(random.nextInt(characters.length()));
+        }
+    }
+
+    /**
+     * A US shipping address in the shape of Magento's address form.
+     */
+    public static class Address {
+        public final String street;
+        public final String city;
+        public final String region;
+        public final String postcode;
+        public final String countryId;
+        public final String telephone;
+
+        public Address(String street, String city, String region, String postcode, String countryId, String telephone) {
+            this.street = street;
+            this.city = city;
+            this.region = region;
+            this.postcode = postcode;
+            this.countryId = countryId;
+            this.telephone = telephone;
+        }
+
+        @Override
+        public String toString() {
+            return street + ", " + city + ", " + region + " " + postcode + ", " + countryId + " (" + telephone + ")";
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.accenture.task.utils;
+
+import com.accenture.task.stub.LocalMagentoServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves the store the suite runs against. By default this is the public Luma demo store;
+ * {@code -Dmagento.baseUrl=...} points the suite at another installation and
+ * {@code -Dmagento.target=local} starts the embedded {@link LocalMagentoServer} and uses it instead.
+ */
+public final class TestEnvironment {
+
+    public static final String DEMO_STORE_URL = "https://magento.softwaretestingboard.com/";
+
+    private static final Logger logger = LoggerFactory.getLogger(TestEnvironment.class);
+    private static volatile String baseUrl;
+
+    private TestEnvironment() {
+    }
+
+    /**
+     * @return true if the suite targets the embedded stand-in server.
+     */
+    public static boolean isLocal() {
+        return "local".equalsIgnoreCase(System.getProperty("magento.target", "remote"));
+    }
+
+    /**
+     * @return The store base URL with a trailing slash.
+     */
+    public static String baseUrl() {
+        if (baseUrl == null) {
+            synchronized (TestEnvironment.class) {
+                if (baseUrl == null) {
+                    String configured = System.getProperty("magento.baseUrl", "");
+                    String url = isLocal() ? LocalMagentoServer.shared().baseUrl() : configured.isBlank() ? DEMO_STORE_URL : configured;
+                    baseUrl = url.endsWith("/") ? url : url + "/";
+                    logger.info("Tests target {}", baseUrl);
+                }
+            }
+        }
+        return baseUrl;
+    }
+}
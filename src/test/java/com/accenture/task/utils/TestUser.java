@@ -0,0 +1,23 @@
+package com.accenture.task.utils;
+
+/**
+ * Credentials and name of a registered storefront customer.
+ */
+public class TestUser {
+    public final String email;
+    public final String password;
+    public final String firstName;
+    public final String lastName;
+
+    public TestUser(String email, String password, String firstName, String lastName) {
+        this.email = email;
+        this.password = password;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    @Override
+    public String toString() {
+        return "TestUser{" + "email='" + email + '\'' + ", firstName='" + firstName + '\'' + ", lastName='" + lastName + '\'' + '}';
+    }
+}
@@ -1,18 +1,18 @@
 package com.accenture.task.utils;
 
-import java.util.Random;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class TestUtils {
 
     /**
-     * Generates a pseudo-unique email address using the current timestamp.
-     * Suitable for test environments where true uniqueness isn't strictly required across runs.
+     * Generates an email address that is unique across runs and parallel threads.
      *
-     * @return A unique email string like "testuser_1678886400000@example.com"
+     * @return A unique email string like "testuser.lq3k9z4f.w2.17@example.com"
+     * @see TestData#uniqueEmail(String)
      */
     public static String generateUniqueEmail() {
-        long timestamp = System.currentTimeMillis();
-        return "testuser_" + timestamp + "@example.com";
+        return TestData.uniqueEmail("testuser");
     }
 
     /**
@@ -22,13 +22,7 @@ public class TestUtils {
      * @return A random alphabetic string.
      */
     public static String generateRandomString(int length) {
-        String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
-        StringBuilder sb = new StringBuilder(length);
-        Random random = new Random();
-        for (int i = 0; i < length; i++) {
-            sb.append(characters.charAt(random.nextInt(characters.length())));
-        }
-        return sb.toString();
+        return TestData.randomString(length);
     }
 
     /**
@@ -56,4 +50,17 @@ public class TestUtils {
             return 0.0; // Or throw an exception depending on desired behavior
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Resolves a path in the local cache that survives between runs (and {@code mvn clean}).
+     * The root defaults to ~/.cache/magento-e2e and can be changed with {@code -Dmagento.e2e.cacheDir}.
+     *
+     * @param first The first path segment below the cache root.
+     * @param more  Further path segments.
+     * @return The resolved path; directories are not created.
+     */
+    public static Path localCachePath(String first, String... more) {
+        String root = System.getProperty("magento.e2e.cacheDir", Paths.get(System.getProperty("user.home"), ".cache", "magento-e2e").toString());
+        return Paths.get(root).resolve(Paths.get(first, more));
+    }
+}
@@ -0,0 +1,418 @@
+package com.accenture.task.utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Pool of registered storefront customers, so tests that only need "a logged-in user" do not register one
+ * through the UI. Accounts are registered over HTTP in bulk when the pool is first used and their
+ * credentials are kept under the local cache directory for later runs, together with a session in the
+ * {@link SessionCache}. A user is leased to one test at a time, also across JVMs (through a file lock), and
+ * its cart is emptied when the lease is returned. Accounts the store no longer knows (e.g. after a restart of
+ * the local stand-in store) are registered again on lease. The pool size is set with {@code user.pool.size}.
+ */
+public final class UserPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserPool.class);
+    private static final Json JSON = new Json();
+    private static final int SIZE = Integer.getInteger("user.pool.size", 4);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Pattern FORM_KEY_PATTERN = Pattern.compile("name=\"form_key\"[^>]*value=\"([^\"]+)\"");
+    private static volatile UserPool shared;
+
+    private final String baseUrl;
+    private final Path directory;
+    private final SessionCache sessionCache;
+    private final BlockingDeque<TestUser> idle = new LinkedBlockingDeque<>();
+    private final List<TestUser> known = new CopyOnWriteArrayList<>();
+    private final Map<String, FileLock> locks = new ConcurrentHashMap<>();
+
+    UserPool(String baseUrl, int size) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.directory = TestUtils.localCachePath("users", URI.create(this.baseUrl).getAuthority().replace(':', '_'));
+        this.sessionCache = new SessionCache(this.baseUrl);
+        known.addAll(loadUsers());
+        idle.addAll(known);
+        if (known.size() < size) {
+            idle.addAll(provision(size - known.size()));
+        }
+        logger.info("User pool ready with {} users for {}.", known.size(), this.baseUrl);
+    }
+
+    /**
+     * @return The pool for the store under test, provisioning its users on first use.
+     */
+    public static UserPool shared() {
+        UserPool pool = shared;
+        if (pool == null) {
+            synchronized (UserPool.class) {
+                pool = shared;
+                if (pool == null) {
+                    pool = new UserPool(TestEnvironment.baseUrl(), SIZE);
+                    shared = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Leases a user that no other test holds, registering a new one if all are taken. The user exists on the
+     * store and has a valid session cached under its email.
+     *
+     * @return The lease; close it to return the user.
+     */
+    public Lease lease() {
+        long start = System.nanoTime();
+        TestUser user = null;
+        for (int attempts = idle.size(); attempts > 0 && user == null; attempts--) {
+            TestUser candidate = idle.pollFirst();
+            if (candidate == null) break;
+            if (tryLock(candidate)) {
+                user = candidate;
+            } else {
+                idle.offerLast(candidate); // Leased by another JVM
+            }
+        }
+        if (user == null) {
+            logger.info("All {} pooled users are leased, registering another one.", known.size());
+            // Not published to idle, so no concurrent lease can take it first
+            user = provision(1).get(0);
+            if (!tryLock(user)) {
+                throw new IllegalStateException("Could not lock freshly registered user " + user.email);
+            }
+        }
+        try {
+            StoreClient client = ensureSession(user);
+            if (Files.exists(leaseMarker(user))) {
+                logger.info("{} was not returned by an earlier run, emptying its cart first.", user.email);
+                client.emptyCart();
+            }
+            Files.createDirectories(directory);
+            Files.writeString(leaseMarker(user), String.valueOf(ProcessHandle.current().pid()));
+        } catch (IOException | RuntimeException e) {
+            unlock(user);
+            idle.offerLast(user);
+            throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (RuntimeException) e;
+        }
+        logger.info("Leased {} in {} ms.", user.email, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return new Lease(this, user);
+    }
+
+    /**
+     * Returns a user that exists on the store without leasing it, for tests that only need an existing account,
+     * such as a duplicate registration check. Other tests may hold the user, so do not log in as it or touch its
+     * cart.
+     *
+     * @return A known user, registered again first if the store no longer knows it.
+     */
+    public TestUser anyUser() {
+        TestUser user = known.isEmpty() ? null : known.get(0);
+        if (user == null) {
+            user = provision(1).get(0);
+            idle.offerLast(user);
+        }
+        ensureSession(user);
+        return user;
+    }
+
+    private void release(TestUser user) {
+        try {
+            ensureSession(user).emptyCart();
+            Files.deleteIfExists(leaseMarker(user));
+            logger.info("Returned {} with an empty cart.", user.email);
+        } catch (IOException | RuntimeException e) {
+            // The marker stays, so the next lease empties the cart before using the user
+            logger.warn("Could not empty the cart of {} on return.", user.email, e);
+        } finally {
+            unlock(user);
+            idle.offerLast(user);
+        }
+    }
+
+    /**
+     * Returns a client logged in as the user: from the cached session if the store still accepts it, otherwise
+     * by logging in, and by registering the account again if the store does not know it.
+     */
+    private StoreClient ensureSession(TestUser user) {
+        Optional<SessionCache.StoredSession> cached = sessionCache.load(user.email);
+        if (cached.isPresent()) {
+            StoreClient client = new StoreClient(cached.get().cookies);
+            if (client.isLoggedIn()) {
+                return client;
+            }
+        }
+        StoreClient client = new StoreClient(List.of());
+        if (!client.logIn(user) && !client.register(user)) {
+            throw new IllegalStateException("Could neither log in nor register pooled user " + user.email);
+        }
+        sessionCache.store(user.email, user, client.seleniumCookies());
+        return client;
+    }
+
+    /**
+     * Registers new users and adds them to the known users. The caller decides whether they become idle.
+     */
+    private List<TestUser> provision(int count) {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(count, SIZE)));
+        try {
+            List<CompletableFuture<TestUser>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                TestData.Generator data = TestData.random();
+                TestUser user = new TestUser(TestData.uniqueEmail("pooluser"), data.password(), data.firstName(), data.lastName());
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    StoreClient client = new StoreClient(List.of());
+                    if (!client.register(user)) {
+                        throw new IllegalStateException("Registration of " + user.email + " was rejected.");
+                    }
+                    sessionCache.store(user.email, user, client.seleniumCookies());
+                    return user;
+                }, executor));
+            }
+            List<TestUser> created = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+            known.addAll(created);
+            saveUsers();
+            logger.info("Registered {} pooled users over HTTP in {} ms.", created.size(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+            return created;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean tryLock(TestUser user) {
+        try {
+            Files.createDirectories(directory.resolve("locks"));
+            FileChannel channel = FileChannel.open(directory.resolve("locks").resolve(fileName(user) + ".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                // Held by this JVM
+                lock = null;
+            }
+            if (lock == null) {
+                channel.close();
+                return false;
+            }
+            locks.put(user.email, lock);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not lock pooled user " + user.email, e);
+        }
+    }
+
+    private void unlock(TestUser user) {
+        FileLock lock = locks.remove(user.email);
+        if (lock != null) {
+            try {
+                lock.channel().close();
+            } catch (IOException e) {
+                logger.debug("Could not release lock of {}.", user.email, e);
+            }
+        }
+    }
+
+    private Path leaseMarker(TestUser user) {
+        return directory.resolve(fileName(user) + ".leased");
+    }
+
+    private static String fileName(TestUser user) {
+        return user.email.replaceAll("[^A-Za-z0-9._@-]", "_");
+    }
+
+    private List<TestUser> loadUsers() {
+        Path file = directory.resolve("users.json");
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        try {
+            List<Map<String, Object>> json = JSON.toType(Files.readString(file, StandardCharsets.UTF_8), Json.LIST_OF_MAPS_TYPE);
+            List<TestUser> users = new ArrayList<>();
+            for (Map<String, Object> map : json) {
+                users.add(new TestUser((String) map.get("email"), (String) map.get("password"), (String) map.get("firstName"), (String) map.get("lastName")));
+            }
+            return users;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not read pooled users from {}, provisioning new ones.", file, e);
+            return List.of();
+        }
+    }
+
+    private synchronized void saveUsers() {
+        List<Map<String, Object>> json = new ArrayList<>();
+        for (TestUser user : known) {
+            json.add(Map.of("email", user.email, "password", user.password, "firstName", user.firstName, "lastName", user.lastName));
+        }
+        try {
+            Files.createDirectories(directory);
+            // Holds the pool's passwords: temp files are owner-only on POSIX systems and the move keeps that
+            Path temp = Files.createTempFile(directory, "users", ".tmp");
+            Files.writeString(temp, JSON.toJson(json), StandardCharsets.UTF_8);
+            Files.move(temp, directory.resolve("users.json"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not save pooled users.", e);
+        }
+    }
+
+    /**
+     * Exclusive use of one pooled user until closed.
+     */
+    public static final class Lease implements AutoCloseable {
+        public final TestUser user;
+        private final UserPool pool;
+        private boolean closed;
+
+        private Lease(UserPool pool, TestUser user) {
+            this.pool = pool;
+            this.user = user;
+        }
+
+        /**
+         * Empties the user's cart and returns it to the pool.
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                pool.release(user);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Lease{" + user + '}';
+        }
+    }
+
+    /**
+     * HTTP client with its own cookie jar, acting as one storefront session.
+     */
+    private final class StoreClient {
+        private final CookieManager cookies = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+        private final HttpClient http = HttpClient.newBuilder().cookieHandler(cookies).followRedirects(HttpClient.Redirect.NEVER).connectTimeout(REQUEST_TIMEOUT).build();
+        private final URI store = URI.create(baseUrl);
+
+        StoreClient(List<Cookie> seed) {
+            for (Cookie cookie : seed) {
+                HttpCookie httpCookie = new HttpCookie(cookie.getName(), cookie.getValue());
+                httpCookie.setPath(cookie.getPath() == null ? "/" : cookie.getPath());
+                httpCookie.setVersion(0);
+                cookies.getCookieStore().add(store, httpCookie);
+            }
+        }
+
+        boolean isLoggedIn() {
+            HttpResponse<String> response = send(HttpRequest.newBuilder(store.resolve("customer/section/load/?sections=customer")).header("X-Requested-With", "XMLHttpRequest").GET());
+            if (response.statusCode() != 200) {
+                return false;
+            }
+            try {
+                Map<String, Object> sections = JSON.toType(response.body(), Json.MAP_TYPE);
+                Object customer = sections.get("customer");
+                return customer instanceof Map && ((Map<?, ?>) customer).get("firstname") != null;
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+
+        boolean logIn(TestUser user) {
+            String formKey = formKeyFrom("customer/account/login/");
+            HttpResponse<String> response = post("customer/account/loginPost/", Map.of("form_key", formKey, "login[username]", user.email, "login[password]", user.password));
+            return redirectsToAccount(response);
+        }
+
+        boolean register(TestUser user) {
+            String formKey = formKeyFrom("customer/account/create/");
+            Map<String, String> form = new LinkedHashMap<>();
+            form.put("form_key", formKey);
+            form.put("firstname", user.firstName);
+            form.put("lastname", user.lastName);
+            form.put("email", user.email);
+            form.put("password", user.password);
+            form.put("password_confirmation", user.password);
+            return redirectsToAccount(post("customer/account/createpost/", form));
+        }
+
+        void emptyCart() {
+            String formKey = cookieValue("form_key").orElseGet(() -> formKeyFrom("checkout/cart/"));
+            HttpResponse<String> response = post("checkout/cart/updatePost/", Map.of("form_key", formKey, "update_cart_action", "empty_cart"));
+            if (response.statusCode() != 302 && response.statusCode() != 200) {
+                throw new IllegalStateException("Emptying the cart failed with HTTP " + response.statusCode());
+            }
+        }
+
+        /**
+         * @return The session cookies in the form the {@link SessionCache} stores.
+         */
+        List<Cookie> seleniumCookies() {
+            List<Cookie> result = new ArrayList<>();
+            for (HttpCookie cookie : cookies.getCookieStore().get(store)) {
+                Date expiry = cookie.getMaxAge() > 0 ? new Date(System.currentTimeMillis() + cookie.getMaxAge() * 1000) : null;
+                result.add(new Cookie(cookie.getName(), cookie.getValue(), store.getHost(), cookie.getPath() == null ? "/" : cookie.getPath(), expiry, cookie.getSecure(), cookie.isHttpOnly()));
+            }
+            return result;
+        }
+
+        private String formKeyFrom(String path) {
+            HttpResponse<String> page = send(HttpRequest.newBuilder(store.resolve(path)).GET());
+            Matcher matcher = FORM_KEY_PATTERN.matcher(page.body());
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+            return cookieValue("form_key").orElseThrow(() -> new IllegalStateException("No form_key on " + path));
+        }
+
+        private Optional<String> cookieValue(String name) {
+            return cookies.getCookieStore().get(store).stream().filter(c -> c.getName().equals(name)).map(HttpCookie::getValue).findFirst();
+        }
+
+        private boolean redirectsToAccount(HttpResponse<String> response) {
+            String location = response.headers().firstValue("Location").orElse("");
+            return response.statusCode() == 302 && location.replaceAll("/+$", "").endsWith("customer/account");
+        }
+
+        private HttpResponse<String> post(String path, Map<String, String> form) {
+            String body = form.entrySet().stream().map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8)).collect(Collectors.joining("&"));
+            return send(HttpRequest.newBuilder(store.resolve(path)).header("Content-Type", "application/x-www-form-urlencoded").POST(HttpRequest.BodyPublishers.ofString(body)));
+        }
+
+        private HttpResponse<String> send(HttpRequest.Builder request) {
+            try {
+                return http.send(request.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while talking to " + store, e);
+            }
+        }
+    }
+}
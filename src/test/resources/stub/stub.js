@@ -0,0 +1,279 @@
+/*
+ * Client side of the local Magento stand-in: customer-data sections, minicart, swatches, AJAX add-to-cart
+ * and form validation, rendered with the same markup the Luma theme produces.
+ */
+(function () {
+    'use strict';
+
+    var STORAGE_KEY = 'mage-cache-storage';
+    var REQUIRED_MESSAGE = 'This is a required field.';
+
+    function escapeHtml(value) {
+        return String(value).replace(/[&<>"']/g, function (c) {
+            return {'&': '&amp;', '<': '&lt;', '>': '&gt;', '"': '&quot;', "'": '&#39;'}[c];
+        });
+    }
+
+    function money(value) {
+        return '$' + Number(value).toFixed(2);
+    }
+
+    function setBusy(busy) {
+        if (busy) {
+            document.body.setAttribute('aria-busy', 'true');
+        } else {
+            document.body.removeAttribute('aria-busy');
+        }
+    }
+
+    // --- Customer data sections ---
+
+    function applySections(sections) {
+        var stored = {};
+        try {
+            stored = JSON.parse(window.localStorage.getItem(STORAGE_KEY) || '{}');
+        } catch (e) {
+            stored = {};
+        }
+        Object.keys(sections).forEach(function (name) {
+            if (name !== 'messages') {
+                stored[name] = sections[name];
+                stored[name].data_id = Math.floor(Date.now() / 1000);
+            }
+        });
+        try {
+            window.localStorage.setItem(STORAGE_KEY, JSON.stringify(stored));
+        } catch (e) {
+            // Storage may be unavailable; the page still renders from the section data
+        }
+        if (sections.cart) renderMinicart(sections.cart);
+        if (sections.messages) renderMessages(sections.messages.messages || []);
+    }
+
+    function reloadSections(names) {
+        var url = '/customer/section/load/?sections=' + encodeURIComponent(names.join(',')) + '&force_new_section_timestamp=true&_=' + Date.now();
+        return fetch(url, {headers: {'X-Requested-With': 'XMLHttpRequest'}, credentials: 'same-origin'})
+            .then(function (response) { return response.json(); })
+            .then(applySections);
+    }
+
+    function renderMinicart(cart) {
+        var counter = document.querySelector('a.action.showcart .counter.qty');
+        var count = cart.summary_count || 0;
+        counter.querySelector('.counter-number').textContent = count > 0 ? String(count) : '';
+        counter.classList.toggle('empty', count === 0);
+
+        var content = document.getElementById('minicart-content-wrapper');
+        if (count === 0) {
+            content.innerHTML = '<div class="block-content"><div class="minicart-items-wrapper">'
+                + '<strong class="subtitle empty">You have no items in your shopping cart.</strong></div></div>';
+            return;
+        }
+        var html = '<div class="block-content">'
+            + '<div class="items-total"><span class="count">' + count + '</span> Items in Cart</div>'
+            + '<div class="subtotal"><span class="label">Cart Subtotal</span><div class="amount price-container">'
+            + '<span class="price-wrapper"><span class="price">' + money(cart.subtotalAmount) + '</span></span></div></div>'
+            + '<div class="actions"><div class="primary"><button id="top-cart-btn-checkout" type="button" class="action primary checkout" title="Proceed to Checkout">Proceed to Checkout</button></div></div>'
+            + '<div class="minicart-items-wrapper"><ol id="mini-cart" class="minicart-items">';
+        cart.items.forEach(function (item) {
+            html += '<li class="item product product-item"><div class="product"><div class="product-item-details">'
+                + '<strong class="product-item-name"><a href="' + escapeHtml(item.product_url) + '">' + escapeHtml(item.product_name) + '</a></strong>'
+                + '<div class="product-item-pricing"><div class="price-container"><span class="price-wrapper">'
+                + '<span class="minicart-price"><span class="price">' + money(item.product_price_value) + '</span></span></span></div>'
+                + '<div class="details-qty qty"><label class="label">Qty</label>'
+                + '<input type="number" class="item-qty cart-item-qty" value="' + item.qty + '"></div></div>'
+                + '</div></div></li>';
+        });
+        content.innerHTML = html + '</ol></div><div class="actions"><div class="secondary">'
+            + '<a class="action viewcart" href="/checkout/cart/"><span>View and Edit Cart</span></a></div></div></div>';
+    }
+
+    function renderMessages(messages) {
+        var container = document.querySelector('.page.messages');
+        if (!container || messages.length === 0) return;
+        container.innerHTML = '<div class="messages">' + messages.map(function (message) {
+            return '<div role="alert" class="message-' + message.type + ' ' + message.type + ' message" data-ui-id="message-' + message.type + '">'
+                + '<div>' + escapeHtml(message.text) + '</div></div>';
+        }).join('') + '</div>';
+    }
+
+    // --- Header toggles ---
+
+    function initHeader() {
+        var showcart = document.querySelector('a.action.showcart');
+        var wrapper = document.querySelector('.minicart-wrapper');
+        var block = document.querySelector('.block-minicart');
+        showcart.addEventListener('click', function (event) {
+            event.preventDefault();
+            var active = !wrapper.classList.contains('active');
+            wrapper.classList.toggle('active', active);
+            block.style.display = active ? 'block' : 'none';
+        });
+        var toggle = document.querySelector('.customer-welcome button.switch');
+        if (toggle) {
+            toggle.addEventListener('click', function () {
+                var menu = document.querySelector('.customer-welcome .customer-menu');
+                menu.style.display = menu.style.display === 'none' ? 'block' : 'none';
+            });
+        }
+    }
+
+    // --- Category toolbar ---
+
+    function initSorter() {
+        var sorter = document.getElementById('sorter');
+        if (!sorter) return;
+        sorter.addEventListener('change', function () {
+            var url = new URL(window.location.href);
+            url.searchParams.set('product_list_order', sorter.value);
+            window.location.href = url.toString();
+        });
+    }
+
+    // --- Product page ---
+
+    function swatchConfig() {
+        var scripts = document.querySelectorAll('script[type="text/x-magento-init"]');
+        for (var i = 0; i < scripts.length; i++) {
+            var init = JSON.parse(scripts[i].textContent)['[data-role=swatch-options]'];
+            if (init) return init['Magento_Swatches/js/swatch-renderer'].jsonConfig;
+        }
+        return null;
+    }
+
+    function productsOf(config, attributeId, optionId) {
+        var options = config.attributes[attributeId].options;
+        for (var i = 0; i < options.length; i++) {
+            if (options[i].id === optionId) return options[i].products;
+        }
+        return [];
+    }
+
+    function updateDisabledOptions(config) {
+        var attributes = document.querySelectorAll('.swatch-attribute');
+        attributes.forEach(function (attribute) {
+            var attributeId = attribute.getAttribute('data-attribute-id');
+            var allowed = null;
+            attributes.forEach(function (other) {
+                var selected = other.getAttribute('data-option-selected');
+                if (other === attribute || !selected) return;
+                var products = productsOf(config, other.getAttribute('data-attribute-id'), selected);
+                allowed = allowed === null ? products : allowed.filter(function (p) { return products.indexOf(p) >= 0; });
+            });
+            attribute.querySelectorAll('.swatch-option').forEach(function (option) {
+                var products = productsOf(config, attributeId, option.getAttribute('option-id'));
+                var available = products.length > 0 && (allowed === null || products.some(function (p) { return allowed.indexOf(p) >= 0; }));
+                option.classList.toggle('disabled', !available);
+            });
+        });
+    }
+
+    function initSwatches() {
+        var config = swatchConfig();
+        if (!config) return;
+        updateDisabledOptions(config);
+        document.querySelectorAll('.swatch-option').forEach(function (option) {
+            option.addEventListener('click', function () {
+                if (option.classList.contains('disabled')) return;
+                var attribute = option.closest('.swatch-attribute');
+                attribute.querySelectorAll('.swatch-option').forEach(function (o) {
+                    o.classList.remove('selected');
+                    o.setAttribute('aria-checked', 'false');
+                });
+                option.classList.add('selected');
+                option.setAttribute('aria-checked', 'true');
+                attribute.setAttribute('data-option-selected', option.getAttribute('option-id'));
+                attribute.querySelector('.swatch-attribute-selected-option').textContent = option.getAttribute('option-label');
+                attribute.querySelector('input.swatch-input').value = option.getAttribute('option-id');
+                var error = attribute.querySelector('.mage-error');
+                if (error) error.remove();
+                updateDisabledOptions(config);
+            });
+        });
+    }
+
+    function initAddToCart() {
+        var form = document.getElementById('product_addtocart_form');
+        if (!form) return;
+        form.addEventListener('submit', function (event) {
+            event.preventDefault();
+            var missing = false;
+            form.querySelectorAll('input.swatch-input').forEach(function (input) {
+                if (!input.value) {
+                    missing = true;
+                    var attribute = input.closest('.swatch-attribute');
+                    if (!attribute.querySelector('.mage-error')) {
+                        attribute.insertAdjacentHTML('beforeend', '<div class="mage-error" generated="true">' + REQUIRED_MESSAGE + '</div>');
+                    }
+                }
+            });
+            if (missing) return;
+
+            var button = document.getElementById('product-addtocart-button');
+            button.disabled = true;
+            button.querySelector('span').textContent = 'Adding...';
+            setBusy(true);
+            fetch(form.action, {
+                method: 'POST',
+                body: new URLSearchParams(new FormData(form)),
+                headers: {'X-Requested-With': 'XMLHttpRequest'},
+                credentials: 'same-origin'
+            }).then(function (response) {
+                return response.json();
+            }).then(function (result) {
+                if (result.backUrl) {
+                    window.location.href = result.backUrl;
+                    return null;
+                }
+                return reloadSections(['cart', 'messages']);
+            }).finally(function () {
+                button.disabled = false;
+                button.querySelector('span').textContent = 'Add to Cart';
+                setBusy(false);
+            });
+        });
+    }
+
+    // --- Form validation ---
+
+    function validateField(input, form) {
+        var error = null;
+        var value = input.value.trim();
+        var rules = input.getAttribute('data-validate') || '';
+        if (rules.indexOf('required:true') >= 0 && value === '') {
+            error = REQUIRED_MESSAGE;
+        } else if (rules.indexOf('validate-email') >= 0 && !/^[^@\s]+@[^@\s]+\.[^@\s]+$/.test(value)) {
+            error = 'Please enter a valid email address (Ex: johndoe@domain.com).';
+        } else if (rules.indexOf('validate-customer-password') >= 0 && value.length < 8) {
+            error = 'Minimum length of this field must be equal or greater than 8 symbols. Leading and trailing spaces will be ignored.';
+        } else if (rules.indexOf('equalTo') >= 0 && value !== form.querySelector('#password').value.trim()) {
+            error = 'Please enter the same value again.';
+        }
+        var existing = document.getElementById(input.id + '-error');
+        if (existing) existing.remove();
+        input.classList.toggle('mage-error', error !== null);
+        if (error !== null) {
+            input.insertAdjacentHTML('afterend', '<div for="' + input.id + '" generated="true" class="mage-error" id="' + input.id + '-error">' + error + '</div>');
+        }
+        return error === null;
+    }
+
+    function initValidation() {
+        document.querySelectorAll('form#form-validate, form#login-form').forEach(function (form) {
+            form.addEventListener('submit', function (event) {
+                var valid = true;
+                form.querySelectorAll('input[data-validate]').forEach(function (input) {
+                    valid = validateField(input, form) && valid;
+                });
+                if (!valid) event.preventDefault();
+            });
+        });
+    }
+
+    initHeader();
+    applySections(JSON.parse(document.getElementById('stub-sections').textContent));
+    initSorter();
+    initSwatches();
+    initAddToCart();
+    initValidation();
+})();